@@ -0,0 +1,65 @@
+package com.parlaseramik.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Broadcasts cache evictions over Redis pub/sub and applies evictions coming from other nodes
+ * to the local (L1) caches. Other in-memory state can subscribe to a name with {@link #onInvalidation}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationBroker implements MessageListener {
+
+    public static final String CHANNEL = "parla:cache-invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisTemplate<String, Object> redisTemplate;
+    private volatile TwoLevelCacheManager cacheManager;
+    private final Map<String, List<Runnable>> handlers = new ConcurrentHashMap<>();
+
+    void bind(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Runs the handlers instead of a cache eviction when another node publishes this name
+    public void onInvalidation(String name, Runnable handler) {
+        handlers.computeIfAbsent(name, k -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void publish(String cacheName, @Nullable String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, new CacheInvalidationMessage(nodeId, cacheName, key));
+        } catch (Exception e) {
+            // L1 TTL bounds staleness on other nodes if Redis is unreachable
+            log.warn("Cache invalidation could not be published for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(payload instanceof CacheInvalidationMessage invalidation) || nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        List<Runnable> subscribers = handlers.get(invalidation.cacheName());
+        if (subscribers != null) {
+            subscribers.forEach(Runnable::run);
+            return;
+        }
+        TwoLevelCacheManager manager = cacheManager;
+        if (manager != null) {
+            manager.evictLocal(invalidation.cacheName(), invalidation.key());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.parlaseramik.cache;
+
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+}
@@ -0,0 +1,121 @@
+package com.parlaseramik.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * In-process Caffeine cache (L1) in front of an optional shared Redis cache (L2).
+ * Evictions are broadcast so other nodes drop their L1 copies as well.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<String, Object> local;
+    @Nullable
+    private final org.springframework.cache.Cache remote;
+    @Nullable
+    private final CacheInvalidationBroker broker;
+
+    public TwoLevelCache(String name, Cache<String, Object> local,
+                         @Nullable org.springframework.cache.Cache remote,
+                         @Nullable CacheInvalidationBroker broker) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.broker = broker;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null || remote == null) {
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object storeValue = toStoreValue(wrapper.get());
+        local.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(localKey(key), k -> {
+            if (remote != null) {
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null) {
+                    return toStoreValue(wrapper.get());
+                }
+            }
+            try {
+                T value = valueLoader.call();
+                if (remote != null) {
+                    remote.put(key, value);
+                }
+                return toStoreValue(value);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        local.put(localKey(key), toStoreValue(value));
+        if (remote != null) {
+            remote.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(localKey(key));
+        if (remote != null) {
+            remote.evict(key);
+        }
+        if (broker != null) {
+            broker.publish(name, localKey(key));
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        if (remote != null) {
+            remote.clear();
+        }
+        if (broker != null) {
+            broker.publish(name, null);
+        }
+    }
+
+    void evictLocal(@Nullable String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,67 @@
+package com.parlaseramik.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Creates {@link TwoLevelCache}s on demand. Caches are transaction aware, so evictions
+ * issued inside a {@code @Transactional} write only happen (and are broadcast) after commit.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    @Nullable
+    private final CacheManager remoteCacheManager;
+    @Nullable
+    private final CacheInvalidationBroker broker;
+
+    public TwoLevelCacheManager(long localMaximumSize, Duration localTtl,
+                                @Nullable CacheManager remoteCacheManager,
+                                @Nullable CacheInvalidationBroker broker) {
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.remoteCacheManager = remoteCacheManager;
+        this.broker = broker;
+        setTransactionAware(true);
+        if (broker != null) {
+            broker.bind(this);
+        }
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return new TwoLevelCache(
+                name,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaximumSize)
+                        .expireAfterWrite(localTtl)
+                        .build(),
+                remoteCacheManager != null ? remoteCacheManager.getCache(name) : null,
+                broker
+        );
+    }
+
+    void evictLocal(String cacheName, @Nullable String key) {
+        Cache cache = lookupCache(cacheName);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictLocal(key);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.parlaseramik.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.parlaseramik.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response cache for the hot anonymous catalog reads (featured products, categories, first catalog
+ * pages). The first response for a URL is stored as JSON bytes plus a gzip variant; later requests are
+ * written straight to the output stream, without touching the controller, the DTOs or Jackson.
+ * Keys include the catalog snapshot tag, so every catalog write retires all entries at once.
+ * Runs after {@link RateLimitFilter}, so cache hits are rate limited like any other request.
+ */
+@Component
+@Order(RateLimitFilter.ORDER + 10)
+public class CatalogResponseCache extends OncePerRequestFilter {
+
+    // Bodies smaller than this are not worth a gzip variant
+    private static final int MIN_COMPRESSED_SIZE = 1024;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final int firstPages;
+    private final Cache<String, Entry> entries;
+
+    public CatalogResponseCache(
+            CatalogSnapshotService catalogSnapshotService,
+            @Value("${application.cache.response.maximum-size:500}") long maximumSize,
+            @Value("${application.cache.response.ttl:10m}") Duration ttl,
+            @Value("${application.cache.response.first-pages:3}") int firstPages
+    ) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.firstPages = firstPages;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (path) {
+            case "/api/products/featured", "/api/categories" -> false;
+            case "/api/products" -> !isFirstPage(request);
+            case "/api/products/scroll" -> request.getParameter("cursor") != null;
+            default -> !(path.startsWith("/api/products/category/") && isFirstPage(request));
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = key(snapshot, request);
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null) {
+            write(entry, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        entry = capture(wrapper);
+        if (entry == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        entries.put(key, entry);
+        wrapper.resetBuffer();
+        write(entry, request, response);
+    }
+
+    private void write(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.cacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, entry.cacheControl());
+        }
+        boolean gzip = entry.gzip() != null && acceptsGzip(request);
+        // The two encodings are different bytes, so they cannot share a strong tag
+        String etag = gzip ? gzipTag(entry.etag()) : entry.etag();
+        if (etag != null) {
+            // A client revalidates with whichever variant it holds; both are current
+            if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), entry.etag(), gzipTag(entry.etag()))) {
+                response.setHeader(HttpHeaders.ETAG, etag);
+                if (entry.lastModified() >= 0) {
+                    response.setDateHeader(HttpHeaders.LAST_MODIFIED, entry.lastModified());
+                }
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            if (new ServletWebRequest(request, response).checkNotModified(etag, entry.lastModified())) {
+                return;
+            }
+        }
+        byte[] body = entry.json();
+        if (gzip) {
+            body = entry.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static String gzipTag(String etag) {
+        return etag.endsWith("\"") ? etag.substring(0, etag.length() - 1) + "-gz\"" : etag + "-gz";
+    }
+
+    // If-None-Match uses weak comparison, so a W/ prefix on either side is ignored
+    private static boolean matchesAny(String ifNoneMatch, String... etags) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            tag = tag.startsWith("W/") ? tag.substring(2) : tag;
+            for (String etag : etags) {
+                if (tag.equals(etag.startsWith("W/") ? etag.substring(2) : etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Only complete JSON bodies are kept; 304s, errors and anything already encoded pass through
+    private static Entry capture(ContentCachingResponseWrapper wrapper) {
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK
+                || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return null;
+        }
+        byte[] json = wrapper.getContentAsByteArray();
+        String lastModified = wrapper.getHeader(HttpHeaders.LAST_MODIFIED);
+        HttpHeaders headers = new HttpHeaders();
+        if (lastModified != null) {
+            headers.set(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        return new Entry(
+                json,
+                json.length >= MIN_COMPRESSED_SIZE ? gzip(json) : null,
+                contentType,
+                wrapper.getHeader(HttpHeaders.ETAG),
+                headers.getLastModified(),
+                wrapper.getHeader(HttpHeaders.CACHE_CONTROL)
+        );
+    }
+
+    private boolean isFirstPage(HttpServletRequest request) {
+        String page = request.getParameter("page");
+        try {
+            return page == null || Integer.parseInt(page) < firstPages;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Bodies carry both languages, so the locale does not need to be part of the key
+    private static String key(CatalogSnapshot snapshot, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(snapshot.getValidators().etag())
+                .append(' ').append(request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private record Entry(byte[] json, byte[] gzip, String contentType, String etag, long lastModified,
+                         String cacheControl) {
+    }
+}
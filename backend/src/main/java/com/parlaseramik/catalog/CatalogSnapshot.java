@@ -0,0 +1,253 @@
+package com.parlaseramik.catalog;
+
+import com.parlaseramik.dto.CategoryDTO;
+import com.parlaseramik.dto.CursorPage;
+import com.parlaseramik.dto.PageCursor;
+import com.parlaseramik.dto.ProductDTO;
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.entity.Category;
+import com.parlaseramik.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable read model of the active catalog. Every DTO and ordering the storefront asks for is
+ * computed once at build time, so reads are plain lookups and list slices without locks. The DTOs are
+ * mutable, so the snapshot keeps its own instances and hands out copies.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<ProductSummaryDTO> NEWEST_FIRST = Comparator
+            .comparing(ProductSummaryDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProductSummaryDTO::getId, Comparator.reverseOrder());
+    private static final Comparator<ProductSummaryDTO> CHEAPEST_FIRST = Comparator
+            .comparing(ProductSummaryDTO::getPrice)
+            .thenComparing(ProductSummaryDTO::getId);
+
+    private final long version;
+    private final Instant builtAt;
+    private final Validators validators;
+    private final Map<Long, Validators> productValidators;
+    private final List<CategoryDTO> categories;
+    private final Map<Long, CategoryDTO> categoriesById;
+    private final Map<Long, ProductDTO> productsById;
+    private final List<ProductSummaryDTO> newest;
+    private final List<ProductSummaryDTO> cheapest;
+    private final Map<Long, List<ProductSummaryDTO>> newestByCategory;
+    private final List<ProductSummaryDTO> featured;
+
+    private CatalogSnapshot(long version, List<CategoryDTO> categories, Map<Long, ProductDTO> productsById,
+                            List<ProductSummaryDTO> summaries) {
+        this.version = version;
+        this.builtAt = Instant.now();
+        this.categories = List.copyOf(categories);
+
+        Map<Long, CategoryDTO> categoryIndex = new HashMap<>();
+        categories.forEach(category -> categoryIndex.put(category.getId(), category));
+        this.categoriesById = Map.copyOf(categoryIndex);
+        this.productsById = Map.copyOf(productsById);
+
+        Map<Long, Validators> perProduct = new HashMap<>();
+        productsById.forEach((id, product) -> perProduct.put(id, productValidators(product, categoryIndex)));
+        this.productValidators = Map.copyOf(perProduct);
+        this.validators = catalogValidators();
+
+        List<ProductSummaryDTO> sorted = new ArrayList<>(summaries);
+        sorted.sort(NEWEST_FIRST);
+        this.newest = List.copyOf(sorted);
+        sorted.sort(CHEAPEST_FIRST);
+        this.cheapest = List.copyOf(sorted);
+
+        Map<Long, List<ProductSummaryDTO>> byCategory = new HashMap<>();
+        List<ProductSummaryDTO> featuredProducts = new ArrayList<>();
+        for (ProductSummaryDTO summary : newest) {
+            if (summary.getCategoryId() != null) {
+                byCategory.computeIfAbsent(summary.getCategoryId(), k -> new ArrayList<>()).add(summary);
+            }
+            if (Boolean.TRUE.equals(summary.getFeatured())) {
+                featuredProducts.add(summary);
+            }
+        }
+        byCategory.replaceAll((categoryId, list) -> List.copyOf(list));
+        this.newestByCategory = Map.copyOf(byCategory);
+        this.featured = List.copyOf(featuredProducts);
+    }
+
+    static CatalogSnapshot build(long version, List<Category> categories, List<Product> products) {
+        Map<Long, ProductDTO> productsById = new HashMap<>();
+        List<ProductSummaryDTO> summaries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            productsById.put(product.getId(), ProductDTO.of(product));
+            summaries.add(ProductSummaryDTO.of(product));
+        }
+        return new CatalogSnapshot(version, categories.stream().map(CategoryDTO::of).toList(), productsById, summaries);
+    }
+
+    /**
+     * Validators for every catalog-wide listing. The tag is a digest of what the listings show, so
+     * it is the same on every node. There is no Last-Modified: a listing changes with stock and
+     * ratings too, which no timestamp shared by the nodes tracks.
+     */
+    private Validators catalogValidators() {
+        StringBuilder state = new StringBuilder();
+        categories.stream()
+                .sorted(Comparator.comparing(CategoryDTO::getId))
+                .forEach(category -> state.append('c').append(category.getId())
+                        .append(':').append(category.getUpdatedAt()).append(';'));
+        productsById.keySet().stream().sorted().forEach(id -> state.append(productValidators.get(id).etag()).append(';'));
+        return new Validators(digest(state), null);
+    }
+
+    // Stock and rating are part of the tag since they can change through bulk updates as well
+    private static Validators productValidators(ProductDTO product, Map<Long, CategoryDTO> categories) {
+        CategoryDTO category = product.getCategoryId() != null ? categories.get(product.getCategoryId()) : null;
+        StringBuilder state = new StringBuilder()
+                .append('p').append(product.getId())
+                .append(':').append(product.getUpdatedAt())
+                .append(':').append(product.getStock())
+                .append(':').append(product.getAverageRating())
+                .append(':').append(product.getReviewCount());
+        Instant lastModified = toInstant(product.getUpdatedAt());
+        if (category != null) {
+            state.append(":c").append(category.getUpdatedAt());
+            Instant categoryModified = toInstant(category.getUpdatedAt());
+            if (categoryModified.isAfter(lastModified)) {
+                lastModified = categoryModified;
+            }
+        }
+        return new Validators(digest(state), lastModified);
+    }
+
+    private static String digest(CharSequence state) {
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public Validators getValidators() {
+        return validators;
+    }
+
+    // Null when the product is unknown or inactive
+    public Validators getProductValidators(Long id) {
+        return productValidators.get(id);
+    }
+
+    // Null when the category is unknown or inactive
+    public Validators getCategoryValidators(Long id) {
+        CategoryDTO category = categoriesById.get(id);
+        if (category == null) {
+            return null;
+        }
+        return new Validators(digest("c" + id + ":" + category.getUpdatedAt()), toInstant(category.getUpdatedAt()));
+    }
+
+    public List<CategoryDTO> getCategories() {
+        return categories.stream().map(CategoryDTO::copy).toList();
+    }
+
+    // Null when the category is unknown or inactive
+    public CategoryDTO getCategory(Long id) {
+        CategoryDTO category = categoriesById.get(id);
+        return category != null ? category.copy() : null;
+    }
+
+    // Null when the product is unknown or inactive
+    public ProductDTO getProduct(Long id) {
+        ProductDTO product = productsById.get(id);
+        return product != null ? product.copy() : null;
+    }
+
+    public List<ProductSummaryDTO> getFeatured() {
+        return copies(featured);
+    }
+
+    /**
+     * Page of active products, or null when the requested sort is not one the snapshot keeps an
+     * ordering for (the caller then falls back to the database).
+     */
+    public Page<ProductSummaryDTO> getProducts(Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return page(newest, false, pageable);
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() != 1) {
+            return null;
+        }
+        Sort.Order order = orders.get(0);
+        return switch (order.getProperty()) {
+            case "createdAt" -> page(newest, order.isAscending(), pageable);
+            case "price" -> page(cheapest, order.isDescending(), pageable);
+            default -> null;
+        };
+    }
+
+    public Page<ProductSummaryDTO> getProductsByCategory(Long categoryId, Pageable pageable) {
+        return page(newestByCategory.getOrDefault(categoryId, List.of()), false, pageable);
+    }
+
+    public CursorPage<ProductSummaryDTO> scroll(Long categoryId, PageCursor after, int size) {
+        List<ProductSummaryDTO> source = categoryId == null
+                ? newest
+                : newestByCategory.getOrDefault(categoryId, List.of());
+        int from = 0;
+        if (after != null) {
+            ProductSummaryDTO probe = new ProductSummaryDTO();
+            probe.setCreatedAt(after.createdAt());
+            probe.setId(after.id());
+            int position = Collections.binarySearch(source, probe, NEWEST_FIRST);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        List<ProductSummaryDTO> rows = copies(source.subList(from, Math.min(from + size + 1, source.size())));
+        return CursorPage.of(rows, size, summary -> new PageCursor(summary.getCreatedAt(), summary.getId()));
+    }
+
+    private static Page<ProductSummaryDTO> page(List<ProductSummaryDTO> source, boolean reversed, Pageable pageable) {
+        int total = source.size();
+        int from = (int) Math.min(pageable.getOffset(), total);
+        int to = Math.min(from + pageable.getPageSize(), total);
+        List<ProductSummaryDTO> content;
+        if (reversed) {
+            content = new ArrayList<>(copies(source.subList(total - to, total - from)));
+            Collections.reverse(content);
+        } else {
+            content = copies(source.subList(from, to));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static List<ProductSummaryDTO> copies(List<ProductSummaryDTO> summaries) {
+        return summaries.stream().map(ProductSummaryDTO::copy).toList();
+    }
+
+    /**
+     * HTTP validators: a strong entity tag and, where one is known, the Last-Modified time of a
+     * representation.
+     */
+    public record Validators(String etag, Instant lastModified) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.parlaseramik.catalog;
+
+import com.parlaseramik.cache.CacheInvalidationBroker;
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.repository.CategoryRepository;
+import com.parlaseramik.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the current {@link CatalogSnapshot}. Writes request a rebuild, which runs after commit on a
+ * single background thread; requests arriving while one is queued are coalesced into it. The new
+ * snapshot is published with an atomic swap, so readers never block and never see a partial catalog.
+ * <p>
+ * The broadcast to other nodes is handled by {@link com.parlaseramik.event.ProductIndexHandler}, which
+ * rebuilds the search and facet indexes before the snapshot: search and browse responses carry the
+ * snapshot's validators, so a new tag must never go out with an old index.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotService {
+
+    // Invalidation name published after every catalog write, asking the other nodes to rebuild
+    public static final String INVALIDATION_NAME = "catalog";
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheInvalidationBroker broker;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogSnapshotService(
+            CategoryRepository categoryRepository,
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<CacheInvalidationBroker> brokerProvider
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.broker = brokerProvider.getIfAvailable();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The published snapshot, or null until the first build has finished.
+     */
+    public CatalogSnapshot current() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long version = versions.incrementAndGet();
+        CatalogSnapshot snapshot = readOnlyTransaction.execute(status -> CatalogSnapshot.build(
+                version, categoryRepository.findByActiveTrue(), productRepository.findAllByActiveTrue()));
+        // A slower, older build must not replace a newer one
+        current.accumulateAndGet(snapshot,
+                (published, next) -> published == null || next.getVersion() > published.getVersion() ? next : published);
+        log.debug("Catalog snapshot {} published", version);
+    }
+
+    /**
+     * Rebuilds the snapshot in the background once the surrounding transaction commits, here and on
+     * the other nodes.
+     */
+    public void requestRebuild() {
+        AfterCommit.run(() -> {
+            scheduleRebuild();
+            if (broker != null) {
+                broker.publish(INVALIDATION_NAME, null);
+            }
+        });
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                // The previous snapshot keeps serving; the next write retries
+                log.error("Catalog snapshot rebuild failed", e);
+            }
+        });
+    }
+}
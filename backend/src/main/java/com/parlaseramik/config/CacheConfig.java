@@ -0,0 +1,46 @@
+package com.parlaseramik.config;
+
+import com.parlaseramik.cache.CacheInvalidationBroker;
+import com.parlaseramik.cache.TwoLevelCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    
+    @Value("${application.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+    
+    @Value("${application.cache.local.ttl:60s}")
+    private Duration localTtl;
+    
+    @Value("${application.cache.remote.ttl:10m}")
+    private Duration remoteTtl;
+    
+    @Bean
+    public CacheManager cacheManager(
+            ObjectProvider<CacheInvalidationBroker> brokerProvider,
+            ObjectProvider<RedisConnectionFactory> connectionFactoryProvider
+    ) {
+        // The broker only exists when Redis is enabled (see RedisConfig); without it we run L1 only
+        CacheInvalidationBroker broker = brokerProvider.getIfAvailable();
+        RedisCacheManager remoteCacheManager = null;
+        if (broker != null) {
+            remoteCacheManager = RedisCacheManager.builder(connectionFactoryProvider.getObject())
+                    .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                            .entryTtl(remoteTtl)
+                            .prefixCacheNameWith("parla:"))
+                    .build();
+            remoteCacheManager.initializeCaches();
+        }
+        return new TwoLevelCacheManager(localMaximumSize, localTtl, remoteCacheManager, broker);
+    }
+}
@@ -55,6 +55,9 @@ public class DataInitializer implements CommandLineRunner {
         var existingAdmin = userRepository.findByEmail(adminEmail);
         if (existingAdmin.isPresent()) {
             User admin = existingAdmin.get();
+            if (admin.getRole() != User.Role.ADMIN || !passwordEncoder.matches(adminPassword, admin.getPassword())) {
+                admin.setCredentialsVersion(admin.getCredentialsVersion() + 1);
+            }
             admin.setPassword(passwordEncoder.encode(adminPassword));
             admin.setRole(User.Role.ADMIN);
             admin.setEnabled(true);
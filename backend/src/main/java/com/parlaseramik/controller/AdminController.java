@@ -2,7 +2,10 @@ package com.parlaseramik.controller;
 
 import com.parlaseramik.dto.*;
 import com.parlaseramik.entity.Order;
+import com.parlaseramik.event.DomainEventPublisher;
+import com.parlaseramik.event.DomainEventStats;
 import com.parlaseramik.service.CategoryService;
+import com.parlaseramik.service.ExportService;
 import com.parlaseramik.service.OrderService;
 import com.parlaseramik.service.ProductService;
 import com.parlaseramik.service.ReviewService;
@@ -11,10 +14,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -26,6 +33,8 @@ public class AdminController {
     private final CategoryService categoryService;
     private final OrderService orderService;
     private final ReviewService reviewService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final ExportService exportService;
     
     // Product Management
     @PostMapping("/products")
@@ -77,6 +86,14 @@ public class AdminController {
         return ResponseEntity.ok(orderService.getAllOrders(pageable));
     }
     
+    @GetMapping("/orders/scroll")
+    public ResponseEntity<CursorPage<OrderDTO>> scrollOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.scrollOrders(cursor, Math.min(Math.max(size, 1), 100)));
+    }
+    
     @GetMapping("/orders/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
         return ResponseEntity.ok(orderService.getOrderById(id));
@@ -117,6 +134,14 @@ public class AdminController {
         return ResponseEntity.ok(reviewService.getAllReviews(pageable));
     }
     
+    @GetMapping("/reviews/scroll")
+    public ResponseEntity<CursorPage<ReviewDTO>> scrollReviews(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(reviewService.scrollReviews(cursor, Math.min(Math.max(size, 1), 100)));
+    }
+    
     @PatchMapping("/reviews/{id}/approve")
     public ResponseEntity<ReviewDTO> approveReview(@PathVariable Long id) {
         return ResponseEntity.ok(reviewService.approveReview(id));
@@ -135,4 +160,29 @@ public class AdminController {
         reviewService.deleteReview(id);
         return ResponseEntity.noContent().build();
     }
+    
+    @PostMapping("/reviews/bulk")
+    public ResponseEntity<BulkReviewResultDTO> moderateReviews(@Valid @RequestBody BulkReviewRequest request) {
+        return ResponseEntity.ok(reviewService.moderateReviews(request));
+    }
+    
+    @GetMapping("/events/stats")
+    public ResponseEntity<DomainEventStats> getDomainEventStats() {
+        return ResponseEntity.ok(domainEventPublisher.stats());
+    }
+    
+    // Export (orders, products, reviews)
+    @GetMapping("/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        ExportService.Dataset exportDataset = ExportService.Dataset.of(dataset);
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        String filename = exportDataset.name().toLowerCase() + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(exportService.export(exportDataset, exportFormat));
+    }
 }
@@ -2,7 +2,10 @@ package com.parlaseramik.controller;
 
 import com.parlaseramik.dto.AuthRequest;
 import com.parlaseramik.dto.AuthResponse;
+import com.parlaseramik.dto.RefreshTokenRequest;
 import com.parlaseramik.service.AuthService;
+import com.parlaseramik.service.RefreshTokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     
     private final AuthService authService;
+    private final RefreshTokenService refreshTokenService;
     
     // Kayıt devre dışı - sadece admin girişi aktif
     // @PostMapping("/register")
@@ -22,7 +26,21 @@ public class AuthController {
     // }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
-        return ResponseEntity.ok(authService.authenticate(request));
+    public ResponseEntity<AuthResponse> login(
+            @Valid @RequestBody AuthRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        return ResponseEntity.ok(authService.authenticate(request, httpRequest.getRemoteAddr()));
+    }
+    
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    }
+    
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,10 +1,13 @@
 package com.parlaseramik.controller;
 
+import com.parlaseramik.catalog.CatalogSnapshot;
+import com.parlaseramik.catalog.CatalogSnapshotService;
 import com.parlaseramik.dto.CategoryDTO;
 import com.parlaseramik.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -14,15 +17,18 @@ import java.util.List;
 public class CategoryController {
     
     private final CategoryService categoryService;
+    private final CatalogSnapshotService catalogSnapshotService;
     
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(ServletWebRequest request) {
+        return ConditionalGet.respond(request, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                categoryService::getAllCategories);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, catalogSnapshotService.current(),
+                snapshot -> snapshot.getCategoryValidators(id), () -> categoryService.getCategoryById(id));
     }
 
     @GetMapping("/all")
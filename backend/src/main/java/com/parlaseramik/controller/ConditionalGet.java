@@ -0,0 +1,44 @@
+package com.parlaseramik.controller;
+
+import com.parlaseramik.catalog.CatalogSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for catalog reads. Validators come from the in-memory catalog snapshot, so a
+ * matching If-None-Match / If-Modified-Since is answered with 304 before the body is built.
+ */
+final class ConditionalGet {
+
+    // Shared caches may store the response but have to revalidate it on every use
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(
+            ServletWebRequest request,
+            CatalogSnapshot snapshot,
+            Function<CatalogSnapshot, CatalogSnapshot.Validators> validatorsOf,
+            Supplier<T> body
+    ) {
+        CatalogSnapshot.Validators validators = snapshot != null ? validatorsOf.apply(snapshot) : null;
+        if (validators == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        // Also writes the ETag and Last-Modified headers; a 304 has already been set when this is true
+        long lastModified = validators.lastModified() != null ? validators.lastModified().toEpochMilli() : -1;
+        if (request.checkNotModified(validators.etag(), lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok(body.get());
+    }
+}
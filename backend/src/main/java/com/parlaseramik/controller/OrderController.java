@@ -2,8 +2,11 @@ package com.parlaseramik.controller;
 
 import com.parlaseramik.dto.CreateOrderRequest;
 import com.parlaseramik.dto.OrderDTO;
+import com.parlaseramik.dto.ReservationDTO;
+import com.parlaseramik.dto.ReservationRequest;
 import com.parlaseramik.entity.Order;
-import com.parlaseramik.entity.User;
+import com.parlaseramik.inventory.InventoryReservationService;
+import com.parlaseramik.security.AuthenticatedUser;
 import com.parlaseramik.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +16,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -20,37 +25,58 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final InventoryReservationService inventoryReservationService;
 
     @GetMapping("/my")
     public ResponseEntity<List<OrderDTO>> getMyOrders(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestParam(required = false) Order.OrderStatus status
     ) {
-        return ResponseEntity.ok(orderService.getUserOrders(user.getId(), status));
+        return ResponseEntity.ok(orderService.getUserOrders(user.id(), status));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        return ResponseEntity.ok(orderService.getUserOrderById(id, user.getId()));
+        return ResponseEntity.ok(orderService.getUserOrderById(id, user.id()));
     }
 
     @PostMapping
     public ResponseEntity<OrderDTO> createOrder(
             @Valid @RequestBody CreateOrderRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(orderService.createOrder(request, user));
+                .body(orderService.createOrder(request, user.id()));
+    }
+
+    @PostMapping("/reservations")
+    public ResponseEntity<ReservationDTO> reserve(
+            @Valid @RequestBody ReservationRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        Map<Long, Integer> items = new TreeMap<>();
+        request.getItems().forEach(item -> items.merge(item.getProductId(), item.getQuantity(), Integer::sum));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ReservationDTO.of(inventoryReservationService.reserve(user.id(), items)));
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<Void> cancelReservation(
+            @PathVariable String id,
+            @AuthenticationPrincipal AuthenticatedUser user
+    ) {
+        inventoryReservationService.cancel(id, user.id());
+        return ResponseEntity.noContent().build();
     }
 
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<OrderDTO> cancelOrder(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        return ResponseEntity.ok(orderService.cancelOrder(id, user.getId()));
+        return ResponseEntity.ok(orderService.cancelOrder(id, user.id()));
     }
 }
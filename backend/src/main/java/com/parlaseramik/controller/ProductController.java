@@ -1,6 +1,13 @@
 package com.parlaseramik.controller;
 
+import com.parlaseramik.catalog.CatalogSnapshot;
+import com.parlaseramik.catalog.CatalogSnapshotService;
+import com.parlaseramik.dto.CursorPage;
+import com.parlaseramik.dto.ProductBrowseDTO;
+import com.parlaseramik.dto.ProductBrowseRequest;
 import com.parlaseramik.dto.ProductDTO;
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.dto.SuggestionDTO;
 import com.parlaseramik.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -9,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -18,48 +26,104 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final CatalogSnapshotService catalogSnapshotService;
     
     @GetMapping
-    public ResponseEntity<Page<ProductDTO>> getAllProducts(
+    public ResponseEntity<Page<ProductSummaryDTO>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            ServletWebRequest request
     ) {
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? 
                 Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        return ResponseEntity.ok(productService.getAllProducts(pageable));
+        return ConditionalGet.respond(request, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                () -> productService.getAllProducts(pageable));
+    }
+    
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ProductSummaryDTO>> scrollProducts(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            ServletWebRequest request
+    ) {
+        return ConditionalGet.respond(request, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                () -> productService.scrollProducts(categoryId, cursor, Math.min(Math.max(size, 1), 100)));
+    }
+    
+    @GetMapping("/browse")
+    public ResponseEntity<ProductBrowseDTO> browseProducts(
+            @RequestParam(required = false) List<Long> categoryId,
+            @RequestParam(required = false) List<String> price,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            ServletWebRequest webRequest
+    ) {
+        ProductBrowseRequest request = ProductBrowseRequest.builder()
+                .categoryIds(categoryId)
+                .priceBands(price)
+                .minRating(minRating)
+                .inStock(inStock)
+                .featured(featured)
+                .page(Math.max(page, 0))
+                .size(Math.min(Math.max(size, 1), 100))
+                .sortBy(sortBy)
+                .sortDir(sortDir)
+                .build();
+        return ConditionalGet.respond(webRequest, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                () -> productService.browseProducts(request));
     }
     
     @GetMapping("/featured")
-    public ResponseEntity<List<ProductDTO>> getFeaturedProducts() {
-        return ResponseEntity.ok(productService.getFeaturedProducts());
+    public ResponseEntity<List<ProductSummaryDTO>> getFeaturedProducts(ServletWebRequest request) {
+        return ConditionalGet.respond(request, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                productService::getFeaturedProducts);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, catalogSnapshotService.current(),
+                snapshot -> snapshot.getProductValidators(id), () -> productService.getProductById(id));
     }
     
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<ProductDTO>> getProductsByCategory(
+    public ResponseEntity<Page<ProductSummaryDTO>> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size
+            @RequestParam(defaultValue = "12") int size,
+            ServletWebRequest request
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.getProductsByCategory(categoryId, pageable));
+        return ConditionalGet.respond(request, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                () -> productService.getProductsByCategory(categoryId, pageable));
     }
     
     @GetMapping("/search")
-    public ResponseEntity<Page<ProductDTO>> searchProducts(
+    public ResponseEntity<Page<ProductSummaryDTO>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "12") int size
+            @RequestParam(defaultValue = "12") int size,
+            ServletWebRequest request
     ) {
         Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(productService.searchProducts(keyword, pageable));
+        return ConditionalGet.respond(request, catalogSnapshotService.current(), CatalogSnapshot::getValidators,
+                () -> productService.searchProducts(keyword, pageable));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return ResponseEntity.ok(productService.suggest(q, Math.min(limit, 20)));
     }
 
     @GetMapping("/all")
@@ -1,11 +1,13 @@
 package com.parlaseramik.controller;
 
 import com.parlaseramik.dto.CreateReviewRequest;
+import com.parlaseramik.dto.RatingSummaryDTO;
 import com.parlaseramik.dto.ReviewDTO;
-import com.parlaseramik.entity.User;
+import com.parlaseramik.security.AuthenticatedUser;
 import com.parlaseramik.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,21 +23,30 @@ public class ReviewController {
     private final ReviewService reviewService;
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ReviewDTO>> getProductReviews(@PathVariable Long productId) {
-        return ResponseEntity.ok(reviewService.getApprovedReviewsByProduct(productId));
+    public ResponseEntity<Page<ReviewDTO>> getProductReviews(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + ReviewService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok(reviewService.getProductReviews(productId, Math.max(page, 0), Math.min(Math.max(size, 1), 50)));
+    }
+
+    @GetMapping("/product/{productId}/summary")
+    public ResponseEntity<RatingSummaryDTO> getRatingSummary(@PathVariable Long productId) {
+        return ResponseEntity.ok(reviewService.getRatingSummary(productId));
     }
 
     @PostMapping
     public ResponseEntity<ReviewDTO> createReview(
             @Valid @RequestBody CreateReviewRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(reviewService.createReview(request, user));
+                .body(reviewService.createReview(request, user.id()));
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<ReviewDTO>> getMyReviews(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(reviewService.getUserReviews(user.getId()));
+    public ResponseEntity<List<ReviewDTO>> getMyReviews(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(reviewService.getUserReviews(user.id()));
     }
 }
@@ -1,9 +1,10 @@
 package com.parlaseramik.controller;
 
+import com.parlaseramik.dto.AuthResponse;
 import com.parlaseramik.dto.ChangePasswordRequest;
 import com.parlaseramik.dto.UserDTO;
 import com.parlaseramik.dto.UpdateProfileRequest;
-import com.parlaseramik.entity.User;
+import com.parlaseramik.security.AuthenticatedUser;
 import com.parlaseramik.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,24 +20,23 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/profile")
-    public ResponseEntity<UserDTO> getProfile(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(userService.getUserProfile(user.getId()));
+    public ResponseEntity<UserDTO> getProfile(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(userService.getUserProfile(user.id()));
     }
 
     @PutMapping("/profile")
     public ResponseEntity<UserDTO> updateProfile(
             @Valid @RequestBody UpdateProfileRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        return ResponseEntity.ok(userService.updateProfile(user.getId(), request));
+        return ResponseEntity.ok(userService.updateProfile(user.id(), request));
     }
 
     @PutMapping("/password")
-    public ResponseEntity<Void> changePassword(
+    public ResponseEntity<AuthResponse> changePassword(
             @Valid @RequestBody ChangePasswordRequest request,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthenticatedUser user
     ) {
-        userService.changePassword(user.getId(), request);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(userService.changePassword(user.id(), request));
     }
 }
@@ -0,0 +1,24 @@
+package com.parlaseramik.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkReviewRequest {
+    public enum Action { APPROVE, DELETE, REPLY }
+
+    @NotNull(message = "İşlem gerekli")
+    private Action action;
+
+    @NotEmpty(message = "En az bir yorum seçilmeli")
+    @Size(max = 1000, message = "Tek seferde en fazla 1000 yorum işlenebilir")
+    private List<@NotNull Long> ids;
+
+    // Required for REPLY only
+    @Size(max = 1000, message = "Cevap en fazla 1000 karakter olabilir")
+    private String adminReply;
+}
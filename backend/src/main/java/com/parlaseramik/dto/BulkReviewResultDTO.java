@@ -0,0 +1,16 @@
+package com.parlaseramik.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewResultDTO {
+    private BulkReviewRequest.Action action;
+    private int requested;
+    // Reviews actually changed; already approved or missing ids are skipped
+    private int affected;
+    private int productsUpdated;
+}
@@ -1,5 +1,8 @@
 package com.parlaseramik.dto;
 
+import com.parlaseramik.entity.Category;
+
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
@@ -8,10 +11,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class CategoryDTO {
+public class CategoryDTO implements Serializable {
     private Long id;
     private String nameTr;
     private String nameEn;
@@ -20,4 +23,21 @@ public class CategoryDTO {
     private Boolean active;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public static CategoryDTO of(Category category) {
+        return CategoryDTO.builder()
+                .id(category.getId())
+                .nameTr(category.getNameTr())
+                .nameEn(category.getNameEn())
+                .descriptionTr(category.getDescriptionTr())
+                .descriptionEn(category.getDescriptionEn())
+                .active(category.getActive())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+
+    public CategoryDTO copy() {
+        return toBuilder().build();
+    }
 }
@@ -1,6 +1,7 @@
 package com.parlaseramik.dto;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -10,6 +11,7 @@ import java.util.List;
 @Data
 public class CreateOrderRequest {
     @NotEmpty(message = "Sipariş en az bir ürün içermeli")
+    @Valid
     private List<OrderItemRequest> items;
     
     @NotNull(message = "Teslimat adresi gerekli")
@@ -18,12 +20,16 @@ public class CreateOrderRequest {
     
     private String notes;
     
+    // Hold taken through POST /api/orders/reservations, when inventory reservations are enabled
+    private String reservationId;
+    
     @Data
     public static class OrderItemRequest {
         @NotNull(message = "Ürün ID gerekli")
         private Long productId;
         
         @NotNull(message = "Miktar gerekli")
+        @Min(value = 1, message = "Miktar en az 1 olmalı")
         private Integer quantity;
     }
 }
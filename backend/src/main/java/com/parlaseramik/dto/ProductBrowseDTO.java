@@ -0,0 +1,23 @@
+package com.parlaseramik.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBrowseDTO {
+    private List<ProductSummaryDTO> content;
+    private long totalElements;
+    private int totalPages;
+    private int page;
+    private int size;
+    // Facet name -> value counts under every other active filter
+    private Map<String, List<FacetCountDTO>> facets;
+}
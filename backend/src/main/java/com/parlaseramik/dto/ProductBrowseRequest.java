@@ -0,0 +1,32 @@
+package com.parlaseramik.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBrowseRequest {
+    private List<Long> categoryIds;
+    private List<String> priceBands;
+    private Integer minRating;
+    private Boolean inStock;
+    private Boolean featured;
+
+    @Builder.Default
+    private String sortBy = "createdAt";
+
+    @Builder.Default
+    private String sortDir = "DESC";
+
+    @Builder.Default
+    private int page = 0;
+
+    @Builder.Default
+    private int size = 12;
+}
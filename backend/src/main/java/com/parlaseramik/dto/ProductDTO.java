@@ -1,8 +1,14 @@
 package com.parlaseramik.dto;
 
+import com.parlaseramik.entity.Product;
+
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,10 +16,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class ProductDTO {
+public class ProductDTO implements Serializable {
     private Long id;
     private String nameTr;
     private String nameEn;
@@ -29,7 +35,44 @@ public class ProductDTO {
     private Boolean featured;
     private Double averageRating;
     private Integer reviewCount;
+    private Map<Integer, Integer> ratingHistogram;
     private String shopierLink;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public static ProductDTO of(Product product) {
+        ProductDTO dto = ProductDTO.builder()
+                .id(product.getId())
+                .nameTr(product.getNameTr())
+                .nameEn(product.getNameEn())
+                .descriptionTr(product.getDescriptionTr())
+                .descriptionEn(product.getDescriptionEn())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .images(product.getImages() != null ? new ArrayList<>(product.getImages()) : null)
+                .active(product.getActive())
+                .featured(product.getFeatured())
+                .averageRating(product.getAverageRating())
+                .reviewCount(product.getReviewCount())
+                .ratingHistogram(RatingSummaryDTO.histogram(product))
+                .shopierLink(product.getShopierLink())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+
+        if (product.getCategory() != null) {
+            dto.setCategoryId(product.getCategory().getId());
+            dto.setCategoryNameTr(product.getCategory().getNameTr());
+            dto.setCategoryNameEn(product.getCategory().getNameEn());
+        }
+        return dto;
+    }
+
+    // Deep enough that changing the copy, its images or its histogram leaves the original alone
+    public ProductDTO copy() {
+        return toBuilder()
+                .images(images != null ? new ArrayList<>(images) : null)
+                .ratingHistogram(ratingHistogram != null ? new LinkedHashMap<>(ratingHistogram) : null)
+                .build();
+    }
 }
@@ -0,0 +1,80 @@
+package com.parlaseramik.dto;
+
+import com.parlaseramik.entity.Product;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ProductSummaryDTO implements Serializable {
+    private Long id;
+    private String nameTr;
+    private String nameEn;
+    private BigDecimal price;
+    private Integer stock;
+    private String image;
+    private Boolean featured;
+    private Double averageRating;
+    private Integer reviewCount;
+    private String shopierLink;
+    private Long categoryId;
+    private String categoryNameTr;
+    private String categoryNameEn;
+    private LocalDateTime createdAt;
+
+    // Used by the JPQL constructor expressions in ProductRepository; image is filled in afterwards
+    public ProductSummaryDTO(Long id, String nameTr, String nameEn, BigDecimal price, Integer stock,
+                             Boolean featured, Double averageRating, Integer reviewCount, String shopierLink,
+                             Long categoryId, String categoryNameTr, String categoryNameEn,
+                             LocalDateTime createdAt) {
+        this.id = id;
+        this.nameTr = nameTr;
+        this.nameEn = nameEn;
+        this.price = price;
+        this.stock = stock;
+        this.featured = featured;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.shopierLink = shopierLink;
+        this.categoryId = categoryId;
+        this.categoryNameTr = categoryNameTr;
+        this.categoryNameEn = categoryNameEn;
+        this.createdAt = createdAt;
+    }
+
+    // For the in-memory indexes, which hold loaded entities rather than query rows
+    public static ProductSummaryDTO of(Product product) {
+        ProductSummaryDTO summary = new ProductSummaryDTO(
+                product.getId(),
+                product.getNameTr(),
+                product.getNameEn(),
+                product.getPrice(),
+                product.getStock(),
+                product.getFeatured(),
+                product.getAverageRating(),
+                product.getReviewCount(),
+                product.getShopierLink(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getCategory() != null ? product.getCategory().getNameTr() : null,
+                product.getCategory() != null ? product.getCategory().getNameEn() : null,
+                product.getCreatedAt()
+        );
+        if (product.getImages() != null && !product.getImages().isEmpty()) {
+            summary.setImage(product.getImages().get(0));
+        }
+        return summary;
+    }
+
+    // Holders of shared instances (indexes, snapshots) hand out copies
+    public ProductSummaryDTO copy() {
+        ProductSummaryDTO copy = new ProductSummaryDTO(id, nameTr, nameEn, price, stock, featured, averageRating,
+                reviewCount, shopierLink, categoryId, categoryNameTr, categoryNameEn, createdAt);
+        copy.setImage(image);
+        return copy;
+    }
+}
@@ -0,0 +1,42 @@
+package com.parlaseramik.dto;
+
+import com.parlaseramik.entity.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryDTO implements Serializable {
+    private Long productId;
+    private Double averageRating;
+    private Integer reviewCount;
+    // Stars (5 down to 1) -> number of approved reviews
+    private Map<Integer, Integer> histogram;
+
+    public static RatingSummaryDTO of(Product product) {
+        return RatingSummaryDTO.builder()
+                .productId(product.getId())
+                .averageRating(product.getAverageRating())
+                .reviewCount(product.getReviewCount())
+                .histogram(histogram(product))
+                .build();
+    }
+
+    public static Map<Integer, Integer> histogram(Product product) {
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        histogram.put(5, product.getFiveStarCount());
+        histogram.put(4, product.getFourStarCount());
+        histogram.put(3, product.getThreeStarCount());
+        histogram.put(2, product.getTwoStarCount());
+        histogram.put(1, product.getOneStarCount());
+        return histogram;
+    }
+}
@@ -0,0 +1,10 @@
+package com.parlaseramik.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    @NotBlank(message = "Refresh token boş olamaz")
+    private String refreshToken;
+}
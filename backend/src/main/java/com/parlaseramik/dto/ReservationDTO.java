@@ -0,0 +1,23 @@
+package com.parlaseramik.dto;
+
+import com.parlaseramik.inventory.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDTO {
+    private String id;
+    // productId -> quantity
+    private Map<Long, Integer> items;
+    private Instant expiresAt;
+
+    public static ReservationDTO of(Reservation reservation) {
+        return new ReservationDTO(reservation.id(), reservation.items(), reservation.expiresAt());
+    }
+}
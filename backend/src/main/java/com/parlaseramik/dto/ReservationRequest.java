@@ -0,0 +1,14 @@
+package com.parlaseramik.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ReservationRequest {
+    @NotEmpty(message = "Rezervasyon en az bir ürün içermeli")
+    @Valid
+    private List<CreateOrderRequest.OrderItemRequest> items;
+}
@@ -1,5 +1,6 @@
 package com.parlaseramik.dto;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
@@ -11,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ReviewDTO {
+public class ReviewDTO implements Serializable {
     private Long id;
     private Long productId;
     private String productName;
@@ -0,0 +1,20 @@
+package com.parlaseramik.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String text;
+    private Type type;
+    private Long id;
+
+    public enum Type {
+        PRODUCT, CATEGORY
+    }
+}
@@ -2,13 +2,18 @@ package com.parlaseramik.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_active_created_id", columnList = "active, createdAt, id"),
+        @Index(name = "idx_products_category_active_created_id", columnList = "category_id, active, createdAt, id")
+})
 @Getter
 @Setter
 @Builder
@@ -36,6 +41,7 @@ public class Product extends BaseEntity {
 
     @Builder.Default
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "product_images", joinColumns = @JoinColumn(name = "product_id"))
     @Column(name = "image_url")
     private List<String> images = new ArrayList<>();
@@ -61,6 +67,37 @@ public class Product extends BaseEntity {
     @Builder.Default
     private Integer reviewCount = 0;
 
+    // Running aggregates over approved reviews, kept by ProductRepository.applyRating
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer oneStarCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer twoStarCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer threeStarCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer fourStarCount = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer fiveStarCount = 0;
+
     @Column(length = 500)
     private String shopierLink;
 }
@@ -0,0 +1,39 @@
+package com.parlaseramik.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One login session: every refresh token rotated out of the same login shares the family. Only the
+ * latest token of a family ({@code currentTokenId}) can be exchanged; presenting an older one means it
+ * leaked, and the whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_token_families", indexes = {
+        @Index(name = "idx_refresh_token_families_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_refresh_token_families_expires_at", columnList = "expiresAt")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenFamily extends BaseEntity {
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 36)
+    private String currentTokenId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt;
+}
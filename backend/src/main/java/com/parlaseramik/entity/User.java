@@ -2,6 +2,7 @@ package com.parlaseramik.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -39,6 +40,12 @@ public class User extends BaseEntity implements UserDetails {
     @Column(nullable = false)
     private Boolean enabled = true;
 
+    // Bumped on password and role changes; tokens issued for an older version are rejected
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer credentialsVersion = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     private List<Order> orders;
 
@@ -0,0 +1,8 @@
+package com.parlaseramik.event;
+
+/**
+ * Something that happened in a committed transaction. Events are published with
+ * {@link DomainEventPublisher#publish} and handled off the request thread by {@link DomainEventHandler}s.
+ */
+public interface DomainEvent {
+}
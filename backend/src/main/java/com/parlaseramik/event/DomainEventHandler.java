@@ -0,0 +1,25 @@
+package com.parlaseramik.event;
+
+import java.util.List;
+
+/**
+ * Handles one event type in batches: everything of that type dispatched together arrives in one call,
+ * in publish order, so a handler can coalesce work (e.g. one reload for many product changes).
+ * <p>
+ * Events can still be lost (dropped from a full queue, or a batch the handler threw on). The publisher then
+ * calls {@link #resync()}, which must rebuild whatever the handler maintains from the database. Only
+ * best-effort handlers such as notifications may keep the default no-op.
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+
+    Class<E> eventType();
+
+    void handle(List<E> events);
+
+    /**
+     * Rebuilds the handler's state from scratch after some of its events were lost. Throwing leaves the
+     * resync pending, and the publisher tries again later.
+     */
+    default void resync() {
+    }
+}
@@ -0,0 +1,174 @@
+package com.parlaseramik.event;
+
+import com.parlaseramik.config.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queues domain events once the publishing transaction commits (rolled back work publishes nothing) and
+ * dispatches them in batches on a single background thread, so handlers never add to request latency.
+ * The queue is bounded: when it is full, publishing waits up to {@code offer-timeout} and then drops the
+ * event rather than stalling requests behind a slow handler.
+ * <p>
+ * Nothing is lost for good: a dropped event marks every handler of its type for a resync, a handler that
+ * throws marks itself, and the dispatcher runs pending resyncs once the queue is idle or after each batch.
+ * A resync that fails stays pending and is retried after {@code resync-retry}.
+ */
+@Slf4j
+@Component
+public class DomainEventPublisher {
+
+    private final Map<Class<?>, List<DomainEventHandler<?>>> handlers = new HashMap<>();
+    private final BlockingQueue<DomainEvent> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration resyncRetry;
+    private final Thread dispatcher;
+    private final Set<DomainEventHandler<?>> resyncPending = ConcurrentHashMap.newKeySet();
+    // Dispatcher thread only
+    private long nextResyncAttempt;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    public DomainEventPublisher(
+            List<DomainEventHandler<?>> handlers,
+            @Value("${application.events.queue-capacity:10000}") int capacity,
+            @Value("${application.events.batch-size:500}") int batchSize,
+            @Value("${application.events.offer-timeout:50ms}") Duration offerTimeout,
+            @Value("${application.events.resync-retry:5s}") Duration resyncRetry
+    ) {
+        handlers.forEach(handler -> this.handlers.computeIfAbsent(handler.eventType(), type -> new ArrayList<>()).add(handler));
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.resyncRetry = resyncRetry;
+        this.nextResyncAttempt = System.nanoTime();
+        this.dispatcher = new Thread(this::dispatchLoop, "domain-events");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.interrupt();
+    }
+
+    /**
+     * Queues the event after the surrounding transaction commits, or right away when there is none.
+     */
+    public void publish(DomainEvent event) {
+        AfterCommit.run(() -> enqueue(event));
+    }
+
+    public DomainEventStats stats() {
+        return new DomainEventStats(
+                published.sum(), dispatched.sum(), dropped.sum(), failed.sum(), batches.sum(),
+                resyncs.sum(), resyncPending.size(), queue.size(), capacity);
+    }
+
+    /**
+     * Marks every handler of the event type for a resync, as if one of its events had been dropped.
+     */
+    public void requestResync(Class<? extends DomainEvent> eventType) {
+        resyncPending.addAll(handlers.getOrDefault(eventType, List.of()));
+    }
+
+    private void enqueue(DomainEvent event) {
+        published.increment();
+        try {
+            if (queue.offer(event, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        requestResync(event.getClass());
+        log.warn("Domain event queue full, dropped {}; its handlers will resync", event);
+    }
+
+    private void dispatchLoop() {
+        List<DomainEvent> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            DomainEvent first;
+            try {
+                first = queue.poll(resyncRetry.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                dispatch(batch);
+                batch.clear();
+            }
+            resync();
+        }
+    }
+
+    // Runs after the batch, so a resync always reads state at least as new as the events it replaces
+    private void resync() {
+        if (resyncPending.isEmpty() || System.nanoTime() - nextResyncAttempt < 0) {
+            return;
+        }
+        for (DomainEventHandler<?> handler : resyncPending) {
+            resyncPending.remove(handler);
+            try {
+                handler.resync();
+                resyncs.increment();
+            } catch (RuntimeException e) {
+                resyncPending.add(handler);
+                nextResyncAttempt = System.nanoTime() + resyncRetry.toNanos();
+                log.error("{} resync failed, retrying in {}", handler.getClass().getSimpleName(), resyncRetry, e);
+            }
+        }
+    }
+
+    private void dispatch(List<DomainEvent> batch) {
+        batches.increment();
+        // Grouped by type, keeping the order in which types first appear
+        Map<Class<?>, List<DomainEvent>> byType = new LinkedHashMap<>();
+        for (DomainEvent event : batch) {
+            byType.computeIfAbsent(event.getClass(), type -> new ArrayList<>()).add(event);
+        }
+        byType.forEach((type, events) -> {
+            for (DomainEventHandler<?> handler : handlers.getOrDefault(type, List.of())) {
+                try {
+                    handle(handler, events);
+                } catch (RuntimeException e) {
+                    failed.add(events.size());
+                    resyncPending.add(handler);
+                    log.error("{} failed on {} events, resync pending", handler.getClass().getSimpleName(), events.size(), e);
+                }
+            }
+            dispatched.add(events.size());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends DomainEvent> void handle(DomainEventHandler<E> handler, List<DomainEvent> events) {
+        handler.handle((List<E>) events);
+    }
+}
@@ -0,0 +1,14 @@
+package com.parlaseramik.event;
+
+public record DomainEventStats(
+        long published,
+        long dispatched,
+        long dropped,
+        long failed,
+        long batches,
+        long resyncs,
+        int resyncPending,
+        int queued,
+        int capacity
+) {
+}
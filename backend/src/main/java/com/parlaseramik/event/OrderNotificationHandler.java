@@ -0,0 +1,35 @@
+package com.parlaseramik.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes new orders to the admin panel over WebSocket, one message per batch. Topics are not
+ * authenticated, so only ids and order numbers are sent; the panel loads the rest through the API.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderNotificationHandler implements DomainEventHandler<OrderPlacedEvent> {
+
+    public static final String TOPIC = "/topic/admin/orders";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public Class<OrderPlacedEvent> eventType() {
+        return OrderPlacedEvent.class;
+    }
+
+    @Override
+    public void handle(List<OrderPlacedEvent> events) {
+        List<Map<String, Object>> orders = events.stream()
+                .map(event -> Map.<String, Object>of(
+                        "type", "PLACED", "orderId", event.orderId(), "orderNumber", event.orderNumber()))
+                .toList();
+        messagingTemplate.convertAndSend(TOPIC, orders);
+    }
+}
@@ -0,0 +1,9 @@
+package com.parlaseramik.event;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// quantities: units ordered per product id
+public record OrderPlacedEvent(Long orderId, String orderNumber, Long userId, BigDecimal totalAmount,
+                               Map<Long, Integer> quantities) implements DomainEvent {
+}
@@ -0,0 +1,12 @@
+package com.parlaseramik.event;
+
+import com.parlaseramik.entity.Order;
+
+public record OrderStatusChangedEvent(
+        Long orderId,
+        String orderNumber,
+        Long userId,
+        Order.OrderStatus status,
+        Order.PaymentStatus paymentStatus
+) implements DomainEvent {
+}
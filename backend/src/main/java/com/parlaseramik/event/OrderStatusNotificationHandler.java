@@ -0,0 +1,34 @@
+package com.parlaseramik.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// Status and payment changes go to the same admin topic as new orders (see OrderNotificationHandler)
+@Component
+@RequiredArgsConstructor
+public class OrderStatusNotificationHandler implements DomainEventHandler<OrderStatusChangedEvent> {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public Class<OrderStatusChangedEvent> eventType() {
+        return OrderStatusChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<OrderStatusChangedEvent> events) {
+        List<Map<String, Object>> orders = events.stream()
+                .map(event -> Map.<String, Object>of(
+                        "type", "STATUS_CHANGED",
+                        "orderId", event.orderId(),
+                        "orderNumber", event.orderNumber(),
+                        "status", event.status(),
+                        "paymentStatus", event.paymentStatus()))
+                .toList();
+        messagingTemplate.convertAndSend(OrderNotificationHandler.TOPIC, orders);
+    }
+}
@@ -0,0 +1,5 @@
+package com.parlaseramik.event;
+
+// Any write that changes what the catalog shows for a product: fields, stock, rating, category
+public record ProductChangedEvent(Long productId) implements DomainEvent {
+}
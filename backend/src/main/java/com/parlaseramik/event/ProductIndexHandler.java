@@ -0,0 +1,134 @@
+package com.parlaseramik.event;
+
+import com.parlaseramik.cache.CacheInvalidationBroker;
+import com.parlaseramik.catalog.CatalogSnapshotService;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.repository.ProductRepository;
+import com.parlaseramik.search.ProductFacetIndex;
+import com.parlaseramik.search.ProductSearchBackend;
+import com.parlaseramik.search.ProductSuggestionIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Brings the search, facet and suggestion indexes and the catalog snapshot up to date with committed
+ * product changes. A batch reloads each changed product once and requests a single snapshot rebuild.
+ * <p>
+ * The snapshot rebuild is broadcast to the other nodes, which rebuild their indexes and then their
+ * snapshot from the database on a background thread when they receive it; requests arriving while one
+ * is queued are coalesced. Indexes go first because search and browse are served under the snapshot's
+ * validators.
+ */
+@Slf4j
+@Component
+public class ProductIndexHandler implements DomainEventHandler<ProductChangedEvent> {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchBackend productSearchBackend;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheInvalidationBroker broker;
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-index-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductIndexHandler(
+            ProductRepository productRepository,
+            ProductSearchBackend productSearchBackend,
+            ProductFacetIndex productFacetIndex,
+            ProductSuggestionIndex productSuggestionIndex,
+            CatalogSnapshotService catalogSnapshotService,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<CacheInvalidationBroker> brokerProvider
+    ) {
+        this.productRepository = productRepository;
+        this.productSearchBackend = productSearchBackend;
+        this.productFacetIndex = productFacetIndex;
+        this.productSuggestionIndex = productSuggestionIndex;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.broker = brokerProvider.getIfAvailable();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        if (broker != null) {
+            broker.onInvalidation(CatalogSnapshotService.INVALIDATION_NAME, this::scheduleRebuild);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public Class<ProductChangedEvent> eventType() {
+        return ProductChangedEvent.class;
+    }
+
+    @Override
+    public void handle(List<ProductChangedEvent> events) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        events.forEach(event -> productIds.add(event.productId()));
+        // The indexes apply their updates when this transaction completes; inactive products are removed
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<Product> products = productRepository.findAllById(productIds);
+            for (Product product : products) {
+                productSearchBackend.index(product);
+                productFacetIndex.index(product);
+            }
+            productSuggestionIndex.index(products);
+        });
+        catalogSnapshotService.requestRebuild();
+    }
+
+    // Changes were lost on this node, so neither its indexes nor the other nodes heard about them
+    @Override
+    public void resync() {
+        rebuildIndexes();
+        catalogSnapshotService.requestRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuildIndexes();
+                catalogSnapshotService.rebuild();
+            } catch (RuntimeException e) {
+                // The indexes and the snapshot keep their state; the next change on any node retries
+                log.error("Product index rebuild failed", e);
+            }
+        });
+    }
+
+    // Each index records the updates it applies while loading, so this can run beside handle()
+    private void rebuildIndexes() {
+        productSearchBackend.rebuild();
+        productFacetIndex.rebuild();
+        productSuggestionIndex.rebuild();
+    }
+}
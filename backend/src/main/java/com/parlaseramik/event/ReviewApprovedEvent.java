@@ -0,0 +1,4 @@
+package com.parlaseramik.event;
+
+public record ReviewApprovedEvent(Long reviewId, Long productId) implements DomainEvent {
+}
@@ -0,0 +1,33 @@
+package com.parlaseramik.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tells open product pages that new reviews were approved, one message per product per batch, so they
+ * can reload the first review page.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewNotificationHandler implements DomainEventHandler<ReviewApprovedEvent> {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public Class<ReviewApprovedEvent> eventType() {
+        return ReviewApprovedEvent.class;
+    }
+
+    @Override
+    public void handle(List<ReviewApprovedEvent> events) {
+        Map<Long, Integer> approvedByProduct = new TreeMap<>();
+        events.forEach(event -> approvedByProduct.merge(event.productId(), 1, Integer::sum));
+        approvedByProduct.forEach((productId, approved) -> messagingTemplate.convertAndSend(
+                "/topic/products/" + productId + "/reviews", Map.of("approved", approved)));
+    }
+}
@@ -0,0 +1,40 @@
+package com.parlaseramik.event;
+
+import com.parlaseramik.search.ProductSuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds units sold into the suggestion ranking as orders are placed, so best sellers move up without
+ * waiting for the next rebuild. A batch is applied as one update.
+ */
+@Component
+@RequiredArgsConstructor
+public class SuggestionPopularityHandler implements DomainEventHandler<OrderPlacedEvent> {
+
+    private final ProductSuggestionIndex productSuggestionIndex;
+
+    @Override
+    public Class<OrderPlacedEvent> eventType() {
+        return OrderPlacedEvent.class;
+    }
+
+    @Override
+    public void handle(List<OrderPlacedEvent> events) {
+        Map<Long, Long> units = new HashMap<>();
+        for (OrderPlacedEvent event : events) {
+            event.quantities().forEach((productId, quantity) -> units.merge(productId, (long) quantity, Long::sum));
+        }
+        productSuggestionIndex.recordSales(units);
+    }
+
+    // A rebuild recomputes popularity from the order history
+    @Override
+    public void resync() {
+        productSuggestionIndex.rebuild();
+    }
+}
@@ -0,0 +1,277 @@
+package com.parlaseramik.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parlaseramik.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Honours the {@code Idempotency-Key} header on order creation, order cancellation and review creation.
+ * The first request with a key runs normally and its response is stored; a retry with the same key and
+ * body gets that response replayed without reaching the controller, and a retry that arrives while the
+ * first is still running gets 409. Keys are scoped to the authenticated user and the endpoint.
+ * Server errors are not stored, so the client can retry them. The body is held in memory for the
+ * fingerprint, so bodies over {@code application.idempotency.max-body-size} are refused with 413.
+ * <p>
+ * With Redis, keys are shared by all nodes. While Redis is unreachable, keys are claimed in a per-node
+ * store instead: orders keep working, and a retry is still recognized when it reaches the same node.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Pattern ORDER_CANCEL = Pattern.compile("/api/orders/\\d+/cancel");
+
+    private final IdempotencyStore store;
+    // Per-node fallback while the shared store is unreachable; null when the store already is local
+    private final IdempotencyStore fallback;
+    private final ObjectMapper objectMapper;
+    private final int maxBodySize;
+
+    public IdempotencyFilter(
+            ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider,
+            ObjectMapper objectMapper,
+            @Value("${application.idempotency.maximum-size:10000}") long maximumSize,
+            @Value("${application.idempotency.ttl:24h}") Duration ttl,
+            @Value("${application.idempotency.in-flight-ttl:60s}") Duration inFlightTtl,
+            @Value("${application.idempotency.max-body-size:64KB}") DataSize maxBodySize
+    ) {
+        RedisTemplate<String, Object> redisTemplate = redisTemplateProvider.getIfAvailable();
+        LocalIdempotencyStore local = new LocalIdempotencyStore(maximumSize, ttl);
+        this.store = redisTemplate != null ? new RedisIdempotencyStore(redisTemplate, ttl, inFlightTtl) : local;
+        this.fallback = redisTemplate != null ? local : null;
+        this.objectMapper = objectMapper;
+        this.maxBodySize = Math.toIntExact(maxBodySize.toBytes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return switch (request.getMethod()) {
+            case "POST" -> !path.equals("/api/orders") && !path.equals("/api/reviews");
+            case "PATCH" -> !ORDER_CANCEL.matcher(path).matches();
+            default -> true;
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            // Security answers with 401/403 anyway
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Geçersiz Idempotency-Key");
+            return;
+        }
+
+        byte[] body = readBody(request);
+        if (body == null) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "İstek gövdesi çok büyük");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        String key = authentication.getName() + ' ' + request.getMethod() + ' ' + request.getRequestURI()
+                + ' ' + idempotencyKey;
+        String fingerprint = fingerprint(cachedRequest.body);
+
+        IdempotencyStore owner = store;
+        StoredResponse existing;
+        try {
+            existing = store.claim(key, fingerprint);
+        } catch (DataAccessException e) {
+            if (fallback == null) {
+                throw e;
+            }
+            log.warn("Idempotency store unavailable, claiming key on this node only: {}", e.getMessage());
+            owner = fallback;
+            existing = fallback.claim(key, fingerprint);
+        }
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Bu Idempotency-Key farklı bir istekle kullanılmış");
+            } else if (existing.isInFlight()) {
+                writeError(response, HttpStatus.CONFLICT, "Aynı istek hâlâ işleniyor");
+            } else {
+                replay(existing, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            release(owner, key);
+            throw e;
+        }
+        if (wrapper.getStatus() < 500) {
+            StoredResponse stored = new StoredResponse(
+                    fingerprint, wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+            try {
+                owner.complete(key, stored);
+            } catch (DataAccessException e) {
+                // The request has run; the in-flight marker expires and a later retry runs it again
+                log.warn("Idempotent response could not be stored for {}: {}", key, e.getMessage());
+            }
+        } else {
+            release(owner, key);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    // Reads at most one byte past the limit; null when the body is larger than allowed
+    private byte[] readBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > maxBodySize) {
+            return null;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        return body.length > maxBodySize ? null : body;
+    }
+
+    private static void release(IdempotencyStore owner, String key) {
+        try {
+            owner.release(key);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency key could not be released for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .build();
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The body is read once for the fingerprint and then replayed to the controller
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available and complete right away
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (in.available() > 0) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+    }
+}
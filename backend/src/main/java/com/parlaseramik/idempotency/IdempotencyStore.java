@@ -0,0 +1,15 @@
+package com.parlaseramik.idempotency;
+
+public interface IdempotencyStore {
+
+    /**
+     * Atomically claims the key for a new request. Returns null when the caller now owns the key,
+     * otherwise the record left by an earlier request with the same key.
+     */
+    StoredResponse claim(String key, String fingerprint);
+
+    void complete(String key, StoredResponse response);
+
+    // Lets a retry run again, e.g. after the first attempt failed with a server error
+    void release(String key);
+}
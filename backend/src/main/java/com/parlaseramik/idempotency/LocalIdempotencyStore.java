@@ -0,0 +1,34 @@
+package com.parlaseramik.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+// Used when Redis is disabled; keys only protect retries that reach the same node
+class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, StoredResponse> entries;
+
+    LocalIdempotencyStore(long maximumSize, Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public StoredResponse claim(String key, String fingerprint) {
+        return entries.asMap().putIfAbsent(key, StoredResponse.inFlight(fingerprint));
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        entries.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        entries.invalidate(key);
+    }
+}
@@ -0,0 +1,71 @@
+package com.parlaseramik.idempotency;
+
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+// Shared by all nodes, so a retry is recognized whichever node it lands on
+class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "parla:idempotency:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+
+    RedisIdempotencyStore(RedisTemplate<String, Object> redisTemplate, Duration ttl, Duration inFlightTtl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.inFlightTtl = inFlightTtl;
+    }
+
+    @Override
+    public StoredResponse claim(String key, String fingerprint) {
+        // A node that dies mid-request leaves an in-flight marker behind; its shorter TTL frees the key
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Boolean claimed = redisTemplate.opsForValue()
+                    .setIfAbsent(PREFIX + key, toMap(StoredResponse.inFlight(fingerprint)), inFlightTtl);
+            if (Boolean.TRUE.equals(claimed)) {
+                return null;
+            }
+            Object existing = redisTemplate.opsForValue().get(PREFIX + key);
+            if (existing instanceof Map<?, ?> map) {
+                return fromMap(map);
+            }
+            // Expired between the two calls; try to claim it again
+        }
+        return StoredResponse.inFlight(fingerprint);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        redisTemplate.opsForValue().set(PREFIX + key, toMap(response), ttl);
+    }
+
+    @Override
+    public void release(String key) {
+        redisTemplate.delete(PREFIX + key);
+    }
+
+    private static Map<String, Object> toMap(StoredResponse response) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("fingerprint", response.fingerprint());
+        map.put("status", response.status());
+        map.put("contentType", response.contentType());
+        map.put("body", response.body() != null ? Base64.getEncoder().encodeToString(response.body()) : null);
+        return map;
+    }
+
+    private static StoredResponse fromMap(Map<?, ?> map) {
+        Object body = map.get("body");
+        return new StoredResponse(
+                (String) map.get("fingerprint"),
+                ((Number) map.get("status")).intValue(),
+                (String) map.get("contentType"),
+                body != null ? Base64.getDecoder().decode((String) body) : null
+        );
+    }
+}
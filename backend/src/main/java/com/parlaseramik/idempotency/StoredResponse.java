@@ -0,0 +1,16 @@
+package com.parlaseramik.idempotency;
+
+/**
+ * What the store keeps per idempotency key: the request fingerprint and, once the first request has
+ * finished, its response. A status of 0 means that request is still running.
+ */
+public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+
+    static StoredResponse inFlight(String fingerprint) {
+        return new StoredResponse(fingerprint, 0, null, null);
+    }
+
+    boolean isInFlight() {
+        return status == 0;
+    }
+}
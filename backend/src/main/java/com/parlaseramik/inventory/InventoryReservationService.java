@@ -0,0 +1,363 @@
+package com.parlaseramik.inventory;
+
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.event.DomainEventPublisher;
+import com.parlaseramik.event.ProductChangedEvent;
+import com.parlaseramik.exception.BadRequestException;
+import com.parlaseramik.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flash-sale inventory. When enabled, available stock per product lives in in-memory counters that are
+ * decremented with compare-and-set, so checkouts on the same few products never wait on a row lock.
+ * Checkout takes a {@link Reservation} that expires after the hold TTL; creating the order confirms it.
+ * Confirmed orders are stored with {@code stockApplied = false} and a background flush subtracts their
+ * quantities from {@code products.stock} in batches, so the orders table is the durable record of what
+ * the counters have given out. The counters are per node; enable this on single-node deployments only.
+ * <p>
+ * A counter always equals {@code products.stock} minus unapplied confirmed orders minus holds. Takes,
+ * releases and the flush keep that true on their own, so nothing here takes a lock. An admin stock edit
+ * is the one change from outside: it moves the counter by the difference it made to the row, never by
+ * re-reading the database, so takes made meanwhile are not overwritten.
+ */
+@Slf4j
+@Component
+public class InventoryReservationService {
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private static final String AVAILABLE_SQL =
+            "SELECT p.id, p.stock - COALESCE((SELECT SUM(oi.quantity) FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id WHERE o.stock_applied = false AND oi.product_id = p.id), 0) " +
+            "FROM products p WHERE p.active = true";
+    private static final String UNAPPLIED_SQL =
+            "SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE o.stock_applied = false AND oi.product_id = ?";
+
+    private final boolean enabled;
+    private final Duration holdTtl;
+    private final Duration flushInterval;
+    private final DomainEventPublisher domainEventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> holds = new ConcurrentHashMap<>();
+    // Holds taken by an order whose transaction has not completed yet; still counted as held
+    private final Map<String, Reservation> confirming = new ConcurrentHashMap<>();
+    private final Map<Long, String> holdsByUser = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InventoryReservationService(
+            @Value("${application.inventory.reservations.enabled:false}") boolean enabled,
+            @Value("${application.inventory.reservations.hold-ttl:10m}") Duration holdTtl,
+            @Value("${application.inventory.reservations.flush-interval:1s}") Duration flushInterval,
+            DomainEventPublisher domainEventPublisher,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.enabled = enabled;
+        this.holdTtl = holdTtl;
+        this.flushInterval = flushInterval;
+        this.domainEventPublisher = domainEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Orders confirmed before a restart are applied even if reservations have since been disabled
+        while (flush() == FLUSH_BATCH_SIZE) {
+            // keep draining
+        }
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.query(AVAILABLE_SQL, rs -> {
+            available.put(rs.getLong(1), new AtomicInteger(rs.getInt(2)));
+        });
+        long flushMillis = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::expireHolds, 1, 1, TimeUnit.SECONDS);
+        log.info("Inventory reservations enabled for {} products", available.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Holds the given quantities for the user until the hold TTL passes. A user has at most one hold;
+     * a new one releases the previous.
+     */
+    public Reservation reserve(Long userId, Map<Long, Integer> items) {
+        requireEnabled();
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), userId,
+                Map.copyOf(items), Instant.now().plus(holdTtl));
+        take(items);
+        holds.put(reservation.id(), reservation);
+        String previous = holdsByUser.put(userId, reservation.id());
+        if (previous != null) {
+            Reservation replaced = holds.get(previous);
+            if (replaced != null) {
+                releaseHold(replaced);
+            }
+        }
+        return reservation;
+    }
+
+    public void cancel(String reservationId, Long userId) {
+        requireEnabled();
+        Reservation reservation = holds.get(reservationId);
+        if (reservation == null || !reservation.userId().equals(userId)) {
+            throw new ResourceNotFoundException("Rezervasyon bulunamadı");
+        }
+        if (releaseHold(reservation)) {
+            holdsByUser.remove(userId, reservationId);
+        }
+    }
+
+    /**
+     * Confirms stock for an order being created in the current transaction: either the user's existing
+     * hold, which must cover exactly these items, or a hold taken on the spot. The stock is given back
+     * if the transaction rolls back.
+     */
+    public void confirm(String reservationId, Long userId, Map<Long, Integer> items) {
+        requireEnabled();
+        Reservation reservation = takeForOrder(reservationId, userId, items);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Counted as held until the order commits, for checkStock
+        confirming.put(reservation.id(), reservation);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                confirming.remove(reservation.id());
+                if (status != STATUS_COMMITTED) {
+                    release(reservation.items());
+                }
+            }
+        });
+    }
+
+    private Reservation takeForOrder(String reservationId, Long userId, Map<Long, Integer> items) {
+        if (reservationId == null) {
+            take(items);
+            return new Reservation(UUID.randomUUID().toString(), userId, Map.copyOf(items), Instant.now());
+        }
+        Reservation reservation = holds.get(reservationId);
+        if (reservation == null || !reservation.userId().equals(userId)) {
+            throw new BadRequestException("Rezervasyon bulunamadı veya süresi doldu");
+        }
+        if (!reservation.items().equals(items)) {
+            throw new BadRequestException("Sipariş ürünleri rezervasyonla eşleşmiyor");
+        }
+        // Whoever removes it first (this order, the expiry sweep or a cancel) owns the stock
+        if (!holds.remove(reservationId, reservation)) {
+            throw new BadRequestException("Rezervasyon bulunamadı veya süresi doldu");
+        }
+        holdsByUser.remove(userId, reservationId);
+        return reservation;
+    }
+
+    /**
+     * Gives stock back to the counters once the surrounding transaction commits, e.g. when an order is
+     * cancelled.
+     */
+    public void restock(Map<Long, Integer> items) {
+        if (enabled) {
+            AfterCommit.run(() -> release(items));
+        }
+    }
+
+    /**
+     * Rejects an admin stock edit that would leave less than what confirmed orders and holds already
+     * account for. Call it in the editing transaction with the product row locked, so the flush cannot
+     * move the row in between.
+     */
+    public void checkStock(Long productId, int stock) {
+        if (!enabled) {
+            return;
+        }
+        Integer unapplied = jdbcTemplate.queryForObject(UNAPPLIED_SQL, Integer.class, productId);
+        int committed = (unapplied != null ? unapplied : 0)
+                + heldQuantity(holds, productId) + heldQuantity(confirming, productId);
+        if (stock < committed) {
+            throw new BadRequestException("Stok, sipariş ve rezervasyonlardaki " + committed + " adedin altına düşürülemez");
+        }
+    }
+
+    /**
+     * Moves a product's counter by an admin stock change (new stock minus the stock it replaced, read
+     * with the row locked) once the surrounding transaction commits. A new product starts from zero.
+     */
+    public void adjust(Long productId, int delta) {
+        if (enabled) {
+            AfterCommit.run(() -> available.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(delta));
+        }
+    }
+
+    /**
+     * Stops selling a product once the surrounding transaction commits.
+     */
+    public void remove(Long productId) {
+        if (enabled) {
+            AfterCommit.run(() -> available.remove(productId));
+        }
+    }
+
+    /**
+     * Applies the stock of up to one batch of confirmed orders to the products table in one transaction.
+     * Returns the number of orders applied.
+     */
+    public int flush() {
+        Integer applied = transaction.execute(status -> {
+            List<Long> orderIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM orders WHERE stock_applied = false ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                    Long.class, FLUSH_BATCH_SIZE);
+            if (orderIds.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", orderIds);
+            Map<Long, Integer> quantities = new TreeMap<>();
+            namedJdbcTemplate.query(
+                    "SELECT product_id, SUM(quantity) FROM order_items WHERE order_id IN (:ids) GROUP BY product_id",
+                    ids, rs -> {
+                        quantities.put(rs.getLong(1), rs.getInt(2));
+                    });
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Map.Entry<Long, Integer>> rows = new ArrayList<>(quantities.entrySet());
+            // Never below zero, even if an edit raced past checkStock
+            jdbcTemplate.batchUpdate("UPDATE products SET stock = GREATEST(stock - ?, 0), updated_at = ? WHERE id = ?",
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setInt(1, row.getValue());
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, row.getKey());
+                    });
+            namedJdbcTemplate.update("UPDATE orders SET stock_applied = true WHERE id IN (:ids)", ids);
+
+            quantities.keySet().forEach(productId -> domainEventPublisher.publish(new ProductChangedEvent(productId)));
+            return orderIds.size();
+        });
+        return applied != null ? applied : 0;
+    }
+
+    private void flushQuietly() {
+        try {
+            while (flush() == FLUSH_BATCH_SIZE) {
+                // keep draining
+            }
+        } catch (RuntimeException e) {
+            // The orders stay unapplied and are picked up by the next run
+            log.error("Inventory flush failed", e);
+        }
+    }
+
+    private void expireHolds() {
+        Instant now = Instant.now();
+        for (Reservation reservation : holds.values()) {
+            if (reservation.isExpired(now) && releaseHold(reservation)) {
+                holdsByUser.remove(reservation.userId(), reservation.id());
+            }
+        }
+    }
+
+    // Returns false when the hold was already gone (confirmed, cancelled or expired elsewhere)
+    private boolean releaseHold(Reservation reservation) {
+        if (!holds.remove(reservation.id(), reservation)) {
+            return false;
+        }
+        release(reservation.items());
+        return true;
+    }
+
+    // All or nothing: a product that runs short gives back what was already taken
+    private void take(Map<Long, Integer> items) {
+        Map<Long, Integer> taken = new TreeMap<>();
+        for (Map.Entry<Long, Integer> item : new TreeMap<>(items).entrySet()) {
+            AtomicInteger counter = available.get(item.getKey());
+            if (counter == null) {
+                release(taken);
+                throw new ResourceNotFoundException("Ürün bulunamadı: " + item.getKey());
+            }
+            if (!tryDecrement(counter, item.getValue())) {
+                release(taken);
+                throw new BadRequestException("Yetersiz stok: " + item.getKey());
+            }
+            taken.put(item.getKey(), item.getValue());
+        }
+    }
+
+    private static boolean tryDecrement(AtomicInteger counter, int quantity) {
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    private void release(Map<Long, Integer> items) {
+        items.forEach((productId, quantity) -> {
+            AtomicInteger counter = available.get(productId);
+            if (counter != null) {
+                counter.addAndGet(quantity);
+            }
+        });
+    }
+
+    private static int heldQuantity(Map<String, Reservation> reservations, Long productId) {
+        int held = 0;
+        for (Reservation reservation : reservations.values()) {
+            held += reservation.items().getOrDefault(productId, 0);
+        }
+        return held;
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new BadRequestException("Stok rezervasyonu etkin değil");
+        }
+    }
+}
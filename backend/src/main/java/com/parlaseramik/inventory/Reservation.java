@@ -0,0 +1,14 @@
+package com.parlaseramik.inventory;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A time-limited hold on stock, taken from the in-memory counters when checkout starts.
+ */
+public record Reservation(String id, Long userId, Map<Long, Integer> items, Instant expiresAt) {
+
+    boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
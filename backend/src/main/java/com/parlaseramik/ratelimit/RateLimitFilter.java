@@ -0,0 +1,130 @@
+package com.parlaseramik.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parlaseramik.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Per-route token buckets for the public endpoints (catalog, search, reviews, WebSocket handshakes), so
+ * scrapers are turned away with 429 before their requests reach the database. Signed-in users are
+ * limited by account, everyone else by client IP. Runs after Spring Security so the user is known, and
+ * before {@link com.parlaseramik.catalog.CatalogResponseCache} so cached responses count as well.
+ * <p>
+ * Every route has its own limiter, keyed by the raw account name or address, so a request builds no key.
+ */
+@Slf4j
+@Component
+@Order(RateLimitFilter.ORDER)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final int ORDER = SecurityProperties.DEFAULT_FILTER_ORDER + 10;
+
+    private static final String ATTRIBUTE_ROUTE = RateLimitFilter.class.getName() + ".route";
+
+    private final boolean enabled;
+    private final List<CompiledRoute> routes;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+            RateLimitProperties properties,
+            ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider,
+            ObjectMapper objectMapper
+    ) {
+        this.enabled = properties.isEnabled();
+        List<RateLimitProperties.Route> configured = properties.getRoutes();
+        RedisTemplate<String, Object> redisTemplate = properties.isRedis() ? redisTemplateProvider.getIfAvailable() : null;
+        // max-keys is shared out between the routes
+        int maxKeys = Math.max(1, properties.getMaxKeys() / Math.max(1, configured.size()));
+        this.routes = IntStream.range(0, configured.size())
+                .mapToObj(index -> CompiledRoute.of(configured.get(index), redisTemplate != null
+                        ? new RedisRateLimiter(redisTemplate, index)
+                        : new StripedRateLimiter(properties.getStripes(), maxKeys, properties.getIdleTimeout().toNanos())))
+                .toList();
+        this.objectMapper = objectMapper;
+        if (enabled) {
+            log.info("Rate limiting {} routes ({})", routes.size(), redisTemplate != null ? "Redis" : "local");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                request.setAttribute(ATTRIBUTE_ROUTE, route);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CompiledRoute route = (CompiledRoute) request.getAttribute(ATTRIBUTE_ROUTE);
+        if (route.limiter().tryAcquire(clientKey(request), route.capacity(), route.refillNanos())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Çok fazla istek, lütfen biraz sonra tekrar deneyin")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(route.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Account names are e-mail addresses and never collide with an IP address
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private record CompiledRoute(PathPattern pattern, RateLimiter limiter, int capacity, long refillNanos, long retryAfterSeconds) {
+
+        static CompiledRoute of(RateLimitProperties.Route route, RateLimiter limiter) {
+            return new CompiledRoute(PathPatternParser.defaultInstance.parse(route.getPattern()), limiter,
+                    route.getCapacity(), route.getRefillPeriod().toNanos(), Math.max(1, route.getRefillPeriod().toSeconds()));
+        }
+    }
+}
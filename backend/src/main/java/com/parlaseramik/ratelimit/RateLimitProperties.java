@@ -0,0 +1,34 @@
+package com.parlaseramik.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "application.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // Shares the buckets across nodes through Redis when it is available
+    private boolean redis = false;
+    private int stripes = 64;
+    private int maxKeys = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    // Checked in order; the first route whose pattern matches the request path applies
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String pattern;
+        private int capacity;
+        private Duration refillPeriod;
+    }
+}
@@ -0,0 +1,10 @@
+package com.parlaseramik.ratelimit;
+
+interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket of {@code key}, which holds up to {@code capacity} tokens and gains
+     * one every {@code refillNanos}. Returns whether a token was available.
+     */
+    boolean tryAcquire(String key, int capacity, long refillNanos);
+}
@@ -0,0 +1,55 @@
+package com.parlaseramik.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+// Shared by all nodes; each bucket is a Redis hash that expires once it would have refilled completely
+@Slf4j
+class RedisRateLimiter implements RateLimiter {
+
+    private static final String PREFIX = "parla:ratelimit:";
+
+    private static final RedisScript<Long> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) / refill)
+            local allowed = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) * refill) + 1000)
+            return allowed
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String prefix;
+
+    RedisRateLimiter(RedisTemplate<String, Object> redisTemplate, int route) {
+        this.redisTemplate = redisTemplate;
+        this.prefix = PREFIX + route + ":";
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int capacity, long refillNanos) {
+        try {
+            Long allowed = redisTemplate.execute(TOKEN_BUCKET, List.of(prefix + key),
+                    capacity, Math.max(1, refillNanos / 1_000_000));
+            return allowed == null || allowed == 1;
+        } catch (RuntimeException e) {
+            // Limiting is best effort; an unavailable Redis must not take the catalog down with it
+            log.warn("Rate limit check failed, allowing request: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.parlaseramik.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets for one node, split over lock stripes so requests from different clients rarely contend.
+ * A bucket is two primitives updated in place, so a request from a known client allocates nothing.
+ * Each stripe is an access-ordered map capped at its share of {@code maxKeys}, least recently used first;
+ * buckets idle for longer than the idle timeout are swept from its head whenever a new key arrives.
+ */
+class StripedRateLimiter implements RateLimiter {
+
+    private final Stripe[] stripes;
+    private final long idleNanos;
+
+    StripedRateLimiter(int stripeCount, int maxKeys, long idleNanos) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxKeys / count));
+        }
+        this.idleNanos = idleNanos;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, int capacity, long refillNanos) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                stripe.sweep(now - idleNanos);
+                bucket = new Bucket(capacity, now);
+                stripe.put(key, bucket);
+            }
+            return bucket.tryConsume(capacity, refillNanos, now);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastUsed;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastUsed = now;
+        }
+
+        boolean tryConsume(int capacity, long refillNanos, long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - lastUsed) / refillNanos);
+            lastUsed = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+
+        private final int maxSize;
+
+        Stripe(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        // Access order puts the longest idle buckets first, so the sweep stops at the first recent one
+        void sweep(long idleBefore) {
+            Iterator<Bucket> iterator = values().iterator();
+            while (iterator.hasNext() && iterator.next().lastUsed < idleBefore) {
+                iterator.remove();
+            }
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
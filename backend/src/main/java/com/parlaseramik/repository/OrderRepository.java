@@ -3,9 +3,13 @@ package com.parlaseramik.repository;
 import com.parlaseramik.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +20,20 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, Order.OrderStatus status);
     Optional<Order> findByIdAndUserId(Long id, Long userId);
     Page<Order> findByUserId(Long userId, Pageable pageable);
+    
+    @Query("SELECT i.product.id, SUM(i.quantity) FROM OrderItem i WHERE i.order.status <> 'CANCELLED' GROUP BY i.product.id")
+    List<Object[]> sumQuantitiesByProduct();
+    
+    // Returns 1 when the order's stock had not been written behind yet, taking it out of the flush
+    @Modifying
+    @Query("UPDATE Order o SET o.stockApplied = true WHERE o.id = :id AND o.stockApplied = false")
+    int markStockApplied(Long id);
+    
+    // Keyset pages on (createdAt, id); pass PageRequest.of(0, size + 1) as the limit
+    @EntityGraph(attributePaths = {"user", "shippingAddress"})
+    List<Order> findAllByOrderByCreatedAtDescIdDesc(Pageable limit);
+    
+    @EntityGraph(attributePaths = {"user", "shippingAddress"})
+    List<Order> findByCreatedAtLessThanOrCreatedAtAndIdLessThanOrderByCreatedAtDescIdDesc(
+            LocalDateTime createdAt, LocalDateTime sameCreatedAt, Long id, Pageable limit);
 }
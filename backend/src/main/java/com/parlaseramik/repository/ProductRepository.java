@@ -1,22 +1,143 @@
 package com.parlaseramik.repository;
 
+import com.parlaseramik.dto.ProductSummaryDTO;
 import com.parlaseramik.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByActiveTrue(Pageable pageable);
-    List<Product> findByFeaturedTrueAndActiveTrue();
-    Page<Product> findByCategoryIdAndActiveTrue(Long categoryId, Pageable pageable);
-    
-    @Query("SELECT p FROM Product p WHERE p.active = true AND " +
-           "(LOWER(p.nameTr) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(p.nameEn) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Product> searchProducts(String keyword, Pageable pageable);
+    
+    String SUMMARY_SELECT = "SELECT new com.parlaseramik.dto.ProductSummaryDTO(" +
+            "p.id, p.nameTr, p.nameEn, p.price, p.stock, p.featured, p.averageRating, p.reviewCount, " +
+            "p.shopierLink, c.id, c.nameTr, c.nameEn, p.createdAt) FROM Product p LEFT JOIN p.category c ";
+    
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Pageable pageable);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(Long id);
+    
+    @EntityGraph(attributePaths = {"category", "images"})
+    List<Product> findAllByActiveTrue();
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.active = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true")
+    Page<ProductSummaryDTO> findActiveSummaries(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.active = true AND p.featured = true")
+    List<ProductSummaryDTO> findFeaturedSummaries();
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.active = true AND c.id = :categoryId",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true AND p.category.id = :categoryId")
+    Page<ProductSummaryDTO> findActiveSummariesByCategory(Long categoryId, Pageable pageable);
+    
+    // Keyset pages on (createdAt, id); pass PageRequest.of(0, size + 1) as the limit
+    @Query(SUMMARY_SELECT + "WHERE p.active = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryDTO> scrollActiveSummaries(Pageable limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.active = true " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryDTO> scrollActiveSummariesAfter(LocalDateTime createdAt, Long id, Pageable limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.active = true AND c.id = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryDTO> scrollActiveSummariesByCategory(Long categoryId, Pageable limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.active = true AND c.id = :categoryId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryDTO> scrollActiveSummariesByCategoryAfter(Long categoryId, LocalDateTime createdAt, Long id,
+                                                                 Pageable limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummaryDTO> findSummariesByIds(Collection<Long> ids);
+    
+    @Query("SELECT p.id, i FROM Product p JOIN p.images i WHERE p.id IN :productIds")
+    List<Object[]> findImagesByProductIds(Collection<Long> productIds);
+    
+    // Full-text + trigram search, see PostgresProductSearchBackend and db/search/product_full_text_search.sql
+    @Query(nativeQuery = true,
+           value = "SELECT p.id FROM products p " +
+                   "WHERE p.active = true AND (" +
+                   "p.search_vector @@ to_tsquery('turkish', :tsQuery) OR " +
+                   "p.search_vector @@ to_tsquery('english', :tsQuery) OR " +
+                   "lower(p.name_tr) % lower(:keyword) OR lower(p.name_en) % lower(:keyword)) " +
+                   "ORDER BY greatest(ts_rank(p.search_vector, to_tsquery('turkish', :tsQuery)), " +
+                   "ts_rank(p.search_vector, to_tsquery('english', :tsQuery))) DESC, " +
+                   "greatest(similarity(lower(p.name_tr), lower(:keyword)), " +
+                   "similarity(lower(p.name_en), lower(:keyword))) DESC, p.id DESC",
+           countQuery = "SELECT count(*) FROM products p " +
+                        "WHERE p.active = true AND (" +
+                        "p.search_vector @@ to_tsquery('turkish', :tsQuery) OR " +
+                        "p.search_vector @@ to_tsquery('english', :tsQuery) OR " +
+                        "lower(p.name_tr) % lower(:keyword) OR lower(p.name_en) % lower(:keyword))")
+    Page<Long> searchFullText(String tsQuery, String keyword, Pageable pageable);
+    
+    /**
+     * Adds (delta = 1) or removes (delta = -1) one approved review of the given rating from the product's
+     * aggregates in a single statement; the average is derived from the updated sum and count.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET " +
+           "p.ratingSum = p.ratingSum + :delta * :rating, " +
+           "p.reviewCount = p.reviewCount + :delta, " +
+           "p.oneStarCount = p.oneStarCount + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, " +
+           "p.twoStarCount = p.twoStarCount + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, " +
+           "p.threeStarCount = p.threeStarCount + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, " +
+           "p.fourStarCount = p.fourStarCount + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, " +
+           "p.fiveStarCount = p.fiveStarCount + CASE WHEN :rating = 5 THEN :delta ELSE 0 END, " +
+           "p.averageRating = COALESCE(CAST(p.ratingSum + :delta * :rating AS Double) / NULLIF(p.reviewCount + :delta, 0), 0.0), " +
+           "p.updatedAt = :now " +
+           "WHERE p.id = :productId")
+    int applyRating(Long productId, int rating, int delta, LocalDateTime now);
+    
+    /**
+     * Rebuilds the rating aggregates of the given products from their approved reviews in a single statement.
+     * Used by bulk moderation, where many reviews of the same product change at once.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET " +
+           "p.ratingSum = COALESCE((SELECT SUM(r.rating) FROM Review r WHERE r.product = p AND r.approved = true), 0), " +
+           "p.reviewCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.approved = true), " +
+           "p.oneStarCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.approved = true AND r.rating = 1), " +
+           "p.twoStarCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.approved = true AND r.rating = 2), " +
+           "p.threeStarCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.approved = true AND r.rating = 3), " +
+           "p.fourStarCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.approved = true AND r.rating = 4), " +
+           "p.fiveStarCount = (SELECT COUNT(r) FROM Review r WHERE r.product = p AND r.approved = true AND r.rating = 5), " +
+           "p.averageRating = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.product = p AND r.approved = true), 0.0), " +
+           "p.updatedAt = :now " +
+           "WHERE p.id IN :productIds")
+    int recomputeRatings(Collection<Long> productIds, LocalDateTime now);
+    
+    // One query for the whole page instead of initializing the images bag per product
+    default void attachFirstImages(List<ProductSummaryDTO> summaries) {
+        if (summaries.isEmpty()) {
+            return;
+        }
+        Map<Long, ProductSummaryDTO> byId = new LinkedHashMap<>();
+        summaries.forEach(summary -> byId.put(summary.getId(), summary));
+        for (Object[] row : findImagesByProductIds(byId.keySet())) {
+            ProductSummaryDTO summary = byId.get((Long) row[0]);
+            if (summary != null && summary.getImage() == null) {
+                summary.setImage((String) row[1]);
+            }
+        }
+    }
 }
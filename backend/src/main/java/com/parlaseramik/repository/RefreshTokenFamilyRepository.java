@@ -0,0 +1,48 @@
+package com.parlaseramik.repository;
+
+import com.parlaseramik.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends JpaRepository<RefreshTokenFamily, Long> {
+
+    // Compare-and-set on the current token, so two concurrent exchanges of the same token cannot both succeed
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.currentTokenId = :nextTokenId, f.expiresAt = :expiresAt, f.updatedAt = :now " +
+           "WHERE f.familyId = :familyId AND f.currentTokenId = :currentTokenId " +
+           "AND f.revokedAt IS NULL AND f.expiresAt > :now")
+    int rotate(@Param("familyId") String familyId,
+               @Param("currentTokenId") String currentTokenId,
+               @Param("nextTokenId") String nextTokenId,
+               @Param("expiresAt") LocalDateTime expiresAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now, f.updatedAt = :now " +
+           "WHERE f.familyId = :familyId AND f.revokedAt IS NULL")
+    int revoke(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT f.familyId, f.expiresAt FROM RefreshTokenFamily f " +
+           "WHERE f.user.id = :userId AND f.revokedAt IS NULL AND f.expiresAt > :now")
+    List<Object[]> findOpenByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenFamily f SET f.revokedAt = :now, f.updatedAt = :now " +
+           "WHERE f.user.id = :userId AND f.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT f.familyId, f.expiresAt FROM RefreshTokenFamily f " +
+           "WHERE f.revokedAt >= :since AND f.expiresAt > :now")
+    List<Object[]> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,17 +3,65 @@ package com.parlaseramik.repository;
 import com.parlaseramik.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByProductIdAndApprovedTrueOrderByCreatedAtDesc(Long productId);
+    
+    @EntityGraph(attributePaths = {"product", "user"})
     List<Review> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    @EntityGraph(attributePaths = {"product", "user"})
     Page<Review> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"product", "user"})
     Page<Review> findByApprovedFalseOrderByCreatedAtDesc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"product", "user"})
     Page<Review> findByProductIdAndApprovedTrue(Long productId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"product", "user"})
     Page<Review> findByApprovedFalse(Pageable pageable);
+    
+    // Returns 0 when the review was already approved, so it is never counted twice
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Review r SET r.approved = true, r.updatedAt = :now WHERE r.id = :id AND r.approved = false")
+    int markApproved(Long id, LocalDateTime now);
+    
+    // Bulk moderation; the affected product ids are read before the statement that changes them
+    @Query("SELECT DISTINCT r.product.id FROM Review r WHERE r.id IN :ids AND r.approved = :approved")
+    List<Long> findProductIdsByIdInAndApproved(Collection<Long> ids, boolean approved);
+    
+    @Query("SELECT r.id, r.product.id FROM Review r WHERE r.id IN :ids AND r.approved = false")
+    List<Object[]> findPendingIdsAndProductIds(Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Review r SET r.approved = true, r.updatedAt = :now WHERE r.id IN :ids AND r.approved = false")
+    int markApproved(Collection<Long> ids, LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Review r SET r.adminReply = :adminReply, r.updatedAt = :now WHERE r.id IN :ids")
+    int replyAll(Collection<Long> ids, String adminReply, LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Review r WHERE r.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+    
+    // Keyset pages on (createdAt, id); pass PageRequest.of(0, size + 1) as the limit
+    @EntityGraph(attributePaths = {"product", "user"})
+    @Query("SELECT r FROM Review r ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> scrollAll(Pageable limit);
+    
+    @EntityGraph(attributePaths = {"product", "user"})
+    @Query("SELECT r FROM Review r WHERE r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> scrollAllAfter(LocalDateTime createdAt, Long id, Pageable limit);
 }
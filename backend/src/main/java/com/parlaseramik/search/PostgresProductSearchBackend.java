@@ -0,0 +1,95 @@
+package com.parlaseramik.search;
+
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Database-backed search: a generated tsvector column (Turkish + English configurations) with a GIN
+ * index, ranked by ts_rank, plus pg_trgm similarity on the names for typo tolerance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.search.backend", havingValue = "postgres")
+public class PostgresProductSearchBackend implements ProductSearchBackend {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private final ProductRepository productRepository;
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSchema() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("db/search/product_full_text_search.sql"));
+        populator.execute(dataSource);
+        log.info("Postgres full-text product search enabled");
+    }
+
+    @Override
+    public Page<ProductSummaryDTO> search(String keyword, Pageable pageable) {
+        String tsQuery = toPrefixTsQuery(keyword);
+        if (tsQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Page<Long> ids = productRepository.searchFullText(tsQuery, keyword.trim(), pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+        Map<Long, ProductSummaryDTO> byId = productRepository.findSummariesByIds(ids.getContent()).stream()
+                .collect(Collectors.toMap(ProductSummaryDTO::getId, Function.identity()));
+        List<ProductSummaryDTO> ranked = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            ProductSummaryDTO summary = byId.get(id);
+            if (summary != null) {
+                ranked.add(summary);
+            }
+        }
+        productRepository.attachFirstImages(ranked);
+        return new PageImpl<>(ranked, pageable, ids.getTotalElements());
+    }
+
+    @Override
+    public void index(Product product) {
+        // search_vector is a generated column, Postgres keeps it current
+    }
+
+    @Override
+    public void remove(Product product) {
+        // Inactive products are filtered in the query
+    }
+
+    // "seramik kup" -> "seramik:* & kup:*"; only letters and digits reach to_tsquery
+    private static String toPrefixTsQuery(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : keyword.toLowerCase(TURKISH).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                terms.add(token + ":*");
+            }
+        }
+        return String.join(" & ", terms);
+    }
+}
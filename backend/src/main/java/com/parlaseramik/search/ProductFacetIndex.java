@@ -0,0 +1,337 @@
+package com.parlaseramik.search;
+
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.dto.FacetCountDTO;
+import com.parlaseramik.dto.ProductBrowseDTO;
+import com.parlaseramik.dto.ProductBrowseRequest;
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.exception.BadRequestException;
+import com.parlaseramik.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitset facet indexes over the active catalog. Every product owns a dense slot and every facet value
+ * a bitset of slots, so filtering is AND/OR over bitsets and each facet count is one intersection's
+ * cardinality. Kept up to date from the services after each committed write; updates applied while a
+ * rebuild is loading are replayed over the loaded state. Pages hold copies of the indexed summaries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String PRICE = "price";
+    public static final String RATING = "rating";
+    public static final String IN_STOCK = "inStock";
+    public static final String FEATURED = "featured";
+
+    private static final PriceBand[] PRICE_BANDS = {
+            new PriceBand("0-250", BigDecimal.ZERO, new BigDecimal("250")),
+            new PriceBand("250-500", new BigDecimal("250"), new BigDecimal("500")),
+            new PriceBand("500-1000", new BigDecimal("500"), new BigDecimal("1000")),
+            new PriceBand("1000-2500", new BigDecimal("1000"), new BigDecimal("2500")),
+            new PriceBand("2500+", new BigDecimal("2500"), null)
+    };
+    private static final int MAX_RATING_THRESHOLD = 4;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final List<ProductSummaryDTO> summaries = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, BitSet> byCategory = new TreeMap<>();
+    private final Map<String, BitSet> byPriceBand = new LinkedHashMap<>();
+    // Index t holds products rated at least t + 1 stars
+    private final BitSet[] byMinRating = new BitSet[MAX_RATING_THRESHOLD];
+    private final BitSet inStock = new BitSet();
+    private final BitSet featured = new BitSet();
+    // Non-null while a rebuild is loading; a null summary records a removal
+    private Map<Long, ProductSummaryDTO> appliedDuringRebuild;
+
+    {
+        for (PriceBand band : PRICE_BANDS) {
+            byPriceBand.put(band.key(), new BitSet());
+        }
+        for (int t = 0; t < MAX_RATING_THRESHOLD; t++) {
+            byMinRating[t] = new BitSet();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        recordDuringRebuild(new HashMap<>());
+        List<ProductSummaryDTO> loaded;
+        try {
+            loaded = productRepository.findAllByActiveTrue().stream().map(ProductSummaryDTO::of).toList();
+        } catch (RuntimeException e) {
+            recordDuringRebuild(null);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, ProductSummaryDTO> applied = appliedDuringRebuild;
+            appliedDuringRebuild = null;
+            slots.clear();
+            summaries.clear();
+            freeSlots.clear();
+            live.clear();
+            byCategory.clear();
+            byPriceBand.values().forEach(BitSet::clear);
+            for (BitSet bits : byMinRating) {
+                bits.clear();
+            }
+            inStock.clear();
+            featured.clear();
+            loaded.forEach(this::add);
+            applied.forEach(this::replace);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product facet index built with {} products", loaded.size());
+    }
+
+    /**
+     * Re-indexes the product once the surrounding transaction commits (immediately when there is none).
+     * Inactive products are removed from the index.
+     */
+    public void index(Product product) {
+        ProductSummaryDTO summary = Boolean.TRUE.equals(product.getActive()) ? ProductSummaryDTO.of(product) : null;
+        Long id = product.getId();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                replace(id, summary);
+                if (appliedDuringRebuild != null) {
+                    appliedDuringRebuild.put(id, summary);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void recordDuringRebuild(Map<Long, ProductSummaryDTO> applied) {
+        lock.writeLock().lock();
+        try {
+            appliedDuringRebuild = applied;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replace(Long id, ProductSummaryDTO summary) {
+        remove(id);
+        if (summary != null) {
+            add(summary);
+        }
+    }
+
+    public ProductBrowseDTO browse(ProductBrowseRequest request) {
+        Comparator<ProductSummaryDTO> order = comparator(request.getSortBy(), request.getSortDir());
+        lock.readLock().lock();
+        try {
+            Map<String, BitSet> filters = new LinkedHashMap<>();
+            if (request.getCategoryIds() != null && !request.getCategoryIds().isEmpty()) {
+                filters.put(CATEGORY, union(request.getCategoryIds().stream().map(byCategory::get).toList()));
+            }
+            if (request.getPriceBands() != null && !request.getPriceBands().isEmpty()) {
+                filters.put(PRICE, union(request.getPriceBands().stream().map(this::priceBand).toList()));
+            }
+            if (request.getMinRating() != null && request.getMinRating() > 0) {
+                int threshold = Math.min(request.getMinRating(), MAX_RATING_THRESHOLD);
+                filters.put(RATING, byMinRating[threshold - 1]);
+            }
+            if (request.getInStock() != null) {
+                filters.put(IN_STOCK, request.getInStock() ? inStock : complement(inStock));
+            }
+            if (request.getFeatured() != null) {
+                filters.put(FEATURED, request.getFeatured() ? featured : complement(featured));
+            }
+
+            BitSet matches = intersectAllExcept(filters, null);
+            List<ProductSummaryDTO> sorted = new ArrayList<>(matches.cardinality());
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                sorted.add(summaries.get(slot));
+            }
+            sorted.sort(order);
+
+            int size = request.getSize();
+            int from = (int) Math.min((long) request.getPage() * size, sorted.size());
+            int to = Math.min(from + size, sorted.size());
+            return ProductBrowseDTO.builder()
+                    .content(sorted.subList(from, to).stream().map(ProductSummaryDTO::copy).toList())
+                    .totalElements(sorted.size())
+                    .totalPages((sorted.size() + size - 1) / size)
+                    .page(request.getPage())
+                    .size(size)
+                    .facets(facetCounts(filters))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Each facet is counted under every filter but its own, so selecting a value never hides its siblings
+    private Map<String, List<FacetCountDTO>> facetCounts(Map<String, BitSet> filters) {
+        Map<String, List<FacetCountDTO>> facets = new LinkedHashMap<>();
+
+        BitSet base = intersectAllExcept(filters, CATEGORY);
+        List<FacetCountDTO> categories = new ArrayList<>();
+        byCategory.forEach((categoryId, bits) -> categories.add(count(String.valueOf(categoryId), base, bits)));
+        facets.put(CATEGORY, categories);
+
+        BitSet priceBase = intersectAllExcept(filters, PRICE);
+        List<FacetCountDTO> prices = new ArrayList<>();
+        byPriceBand.forEach((band, bits) -> prices.add(count(band, priceBase, bits)));
+        facets.put(PRICE, prices);
+
+        BitSet ratingBase = intersectAllExcept(filters, RATING);
+        List<FacetCountDTO> ratings = new ArrayList<>();
+        for (int t = MAX_RATING_THRESHOLD; t >= 1; t--) {
+            ratings.add(count(String.valueOf(t), ratingBase, byMinRating[t - 1]));
+        }
+        facets.put(RATING, ratings);
+
+        facets.put(IN_STOCK, booleanCounts(intersectAllExcept(filters, IN_STOCK), inStock));
+        facets.put(FEATURED, booleanCounts(intersectAllExcept(filters, FEATURED), featured));
+        return facets;
+    }
+
+    private List<FacetCountDTO> booleanCounts(BitSet base, BitSet bits) {
+        FacetCountDTO yes = count("true", base, bits);
+        return List.of(yes, new FacetCountDTO("false", base.cardinality() - yes.getCount()));
+    }
+
+    private static FacetCountDTO count(String value, BitSet base, BitSet bits) {
+        BitSet intersection = (BitSet) base.clone();
+        intersection.and(bits);
+        return new FacetCountDTO(value, intersection.cardinality());
+    }
+
+    private BitSet intersectAllExcept(Map<String, BitSet> filters, String excluded) {
+        BitSet result = (BitSet) live.clone();
+        filters.forEach((facet, bits) -> {
+            if (!facet.equals(excluded)) {
+                result.and(bits);
+            }
+        });
+        return result;
+    }
+
+    private static BitSet union(List<BitSet> sets) {
+        BitSet result = new BitSet();
+        for (BitSet bits : sets) {
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private BitSet complement(BitSet bits) {
+        BitSet result = (BitSet) live.clone();
+        result.andNot(bits);
+        return result;
+    }
+
+    private BitSet priceBand(String key) {
+        BitSet bits = byPriceBand.get(key);
+        if (bits == null) {
+            throw new BadRequestException("Geçersiz fiyat aralığı: " + key);
+        }
+        return bits;
+    }
+
+    private void add(ProductSummaryDTO summary) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = summaries.size();
+            summaries.add(summary);
+        } else {
+            slot = freeSlots.pop();
+            summaries.set(slot, summary);
+        }
+        slots.put(summary.getId(), slot);
+        live.set(slot);
+        if (summary.getCategoryId() != null) {
+            byCategory.computeIfAbsent(summary.getCategoryId(), k -> new BitSet()).set(slot);
+        }
+        for (PriceBand band : PRICE_BANDS) {
+            if (band.contains(summary.getPrice())) {
+                byPriceBand.get(band.key()).set(slot);
+            }
+        }
+        double rating = summary.getAverageRating() != null ? summary.getAverageRating() : 0.0;
+        for (int t = 1; t <= MAX_RATING_THRESHOLD; t++) {
+            byMinRating[t - 1].set(slot, rating >= t);
+        }
+        inStock.set(slot, summary.getStock() != null && summary.getStock() > 0);
+        featured.set(slot, Boolean.TRUE.equals(summary.getFeatured()));
+    }
+
+    private void remove(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ProductSummaryDTO summary = summaries.set(slot, null);
+        live.clear(slot);
+        if (summary.getCategoryId() != null) {
+            BitSet bits = byCategory.get(summary.getCategoryId());
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                byCategory.remove(summary.getCategoryId());
+            }
+        }
+        byPriceBand.values().forEach(bits -> bits.clear(slot));
+        for (BitSet bits : byMinRating) {
+            bits.clear(slot);
+        }
+        inStock.clear(slot);
+        featured.clear(slot);
+        freeSlots.push(slot);
+    }
+
+    private static Comparator<ProductSummaryDTO> comparator(String sortBy, String sortDir) {
+        Comparator<ProductSummaryDTO> comparator = switch (sortBy == null ? "createdAt" : sortBy) {
+            case "createdAt" -> Comparator.comparing(ProductSummaryDTO::getCreatedAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "price" -> Comparator.comparing(ProductSummaryDTO::getPrice);
+            case "averageRating" -> Comparator.comparing(ProductSummaryDTO::getAverageRating,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "nameTr" -> Comparator.comparing(ProductSummaryDTO::getNameTr);
+            case "nameEn" -> Comparator.comparing(ProductSummaryDTO::getNameEn);
+            default -> throw new BadRequestException("Geçersiz sıralama alanı: " + sortBy);
+        };
+        comparator = comparator.thenComparing(ProductSummaryDTO::getId);
+        return "ASC".equalsIgnoreCase(sortDir) ? comparator : comparator.reversed();
+    }
+
+    private record PriceBand(String key, BigDecimal from, BigDecimal to) {
+        boolean contains(BigDecimal price) {
+            return price != null && price.compareTo(from) >= 0 && (to == null || price.compareTo(to) < 0);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.parlaseramik.search;
+
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Product search behind {@code /api/products/search}, selected with {@code application.search.backend}
+ * ({@code memory} or {@code postgres}).
+ */
+public interface ProductSearchBackend {
+
+    Page<ProductSummaryDTO> search(String keyword, Pageable pageable);
+
+    /**
+     * Called from product, category, rating and stock writes; backends that read the database directly
+     * can ignore it.
+     */
+    void index(Product product);
+
+    void remove(Product product);
+
+    /**
+     * Reloads the whole catalog, e.g. after another node changed it; backends without local state
+     * can ignore it.
+     */
+    default void rebuild() {
+    }
+}
@@ -0,0 +1,244 @@
+package com.parlaseramik.search;
+
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the active catalog (names and descriptions in both languages),
+ * ranked with BM25F. Kept up to date from the services after each committed write.
+ * <p>
+ * A rebuild loads the catalog without holding the lock; updates applied meanwhile are recorded and
+ * replayed over the loaded state, so the rebuild never wipes a newer change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "application.search.backend", havingValue = "memory", matchIfMissing = true)
+public class ProductSearchIndex implements ProductSearchBackend {
+
+    // nameTr, nameEn, descriptionTr, descriptionEn
+    private static final int FIELD_COUNT = 4;
+    private static final double[] FIELD_WEIGHTS = {3.0, 3.0, 1.0, 1.0};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Prefix expansions ("kup" -> "kupa") rank below exact term matches
+    private static final double PREFIX_PENALTY = 0.7;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, int[]>> postings = new TreeMap<>();
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+    // Non-null while a rebuild is loading; a null document records a removal
+    private Map<Long, IndexedProduct> appliedDuringRebuild;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        recordDuringRebuild(new HashMap<>());
+        List<IndexedProduct> loaded;
+        try {
+            loaded = productRepository.findAllByActiveTrue().stream().map(this::toIndexedProduct).toList();
+        } catch (RuntimeException e) {
+            recordDuringRebuild(null);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            Map<Long, IndexedProduct> applied = appliedDuringRebuild;
+            appliedDuringRebuild = null;
+            documents.clear();
+            postings.clear();
+            Arrays.fill(totalFieldLengths, 0);
+            loaded.forEach(this::add);
+            applied.forEach(this::replace);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built with {} products", loaded.size());
+    }
+
+    /**
+     * Re-indexes the product once the surrounding transaction commits (immediately when there is none).
+     * Inactive products are removed from the index.
+     */
+    @Override
+    public void index(Product product) {
+        IndexedProduct document = Boolean.TRUE.equals(product.getActive()) ? toIndexedProduct(product) : null;
+        Long id = product.getId();
+        AfterCommit.run(() -> apply(id, document));
+    }
+
+    @Override
+    public void remove(Product product) {
+        Long id = product.getId();
+        AfterCommit.run(() -> apply(id, null));
+    }
+
+    private void apply(Long id, IndexedProduct document) {
+        lock.writeLock().lock();
+        try {
+            replace(id, document);
+            if (appliedDuringRebuild != null) {
+                appliedDuringRebuild.put(id, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recordDuringRebuild(Map<Long, IndexedProduct> applied) {
+        lock.writeLock().lock();
+        try {
+            appliedDuringRebuild = applied;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<ProductSummaryDTO> search(String query, Pageable pageable) {
+        List<String> tokens = TurkishTextAnalyzer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every query token has to match
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return Page.empty(pageable);
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+            int from = (int) Math.min(pageable.getOffset(), ranked.size());
+            int to = Math.min(from + pageable.getPageSize(), ranked.size());
+            List<ProductSummaryDTO> content = new ArrayList<>(to - from);
+            for (Map.Entry<Long, Double> entry : ranked.subList(from, to)) {
+                content.add(documents.get(entry.getKey()).summary().copy());
+            }
+            return new PageImpl<>(content, pageable, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        double[] averageLengths = new double[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            averageLengths[f] = documentCount == 0 ? 1.0 : Math.max(1.0, (double) totalFieldLengths[f] / documentCount);
+        }
+        NavigableMap<String, Map<Long, int[]>> matches = postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Long, int[]>> term : matches.entrySet()) {
+            Map<Long, int[]> termPostings = term.getValue();
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            double boost = term.getKey().length() == token.length() ? 1.0 : PREFIX_PENALTY;
+            for (Map.Entry<Long, int[]> posting : termPostings.entrySet()) {
+                int[] fieldLengths = documents.get(posting.getKey()).fieldLengths();
+                int[] frequencies = posting.getValue();
+                double weightedFrequency = 0;
+                for (int f = 0; f < FIELD_COUNT; f++) {
+                    if (frequencies[f] > 0) {
+                        weightedFrequency += FIELD_WEIGHTS[f] * frequencies[f]
+                                / (1 - B + B * fieldLengths[f] / averageLengths[f]);
+                    }
+                }
+                double score = boost * idf * weightedFrequency * (K1 + 1) / (weightedFrequency + K1);
+                // A token expanding to several terms of the same product counts once, with its best term
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void replace(Long id, IndexedProduct document) {
+        remove(id);
+        if (document != null) {
+            add(document);
+        }
+    }
+
+    private void add(IndexedProduct document) {
+        documents.put(document.summary().getId(), document);
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalFieldLengths[f] += document.fieldLengths()[f];
+        }
+        for (Map.Entry<String, int[]> term : document.frequencies().entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(document.summary().getId(), term.getValue());
+        }
+    }
+
+    private void remove(Long id) {
+        IndexedProduct document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            totalFieldLengths[f] -= document.fieldLengths()[f];
+        }
+        for (String term : document.frequencies().keySet()) {
+            Map<Long, int[]> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private IndexedProduct toIndexedProduct(Product product) {
+        String[] fields = {
+                product.getNameTr(), product.getNameEn(), product.getDescriptionTr(), product.getDescriptionEn()
+        };
+        Map<String, int[]> frequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELD_COUNT];
+        for (int f = 0; f < FIELD_COUNT; f++) {
+            List<String> tokens = TurkishTextAnalyzer.tokenize(fields[f]);
+            fieldLengths[f] = tokens.size();
+            for (String token : tokens) {
+                frequencies.computeIfAbsent(token, k -> new int[FIELD_COUNT])[f]++;
+            }
+        }
+        return new IndexedProduct(ProductSummaryDTO.of(product), fieldLengths, frequencies);
+    }
+
+    private record IndexedProduct(ProductSummaryDTO summary, int[] fieldLengths, Map<String, int[]> frequencies) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.parlaseramik.search;
+
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.dto.SuggestionDTO;
+import com.parlaseramik.entity.Category;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.repository.CategoryRepository;
+import com.parlaseramik.repository.OrderRepository;
+import com.parlaseramik.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Search-as-you-type completions over product and category names in both languages.
+ * Every word position of a name is a key ("kupa" completes "El Yapımı Seramik Kupa"); keys live in a
+ * sorted array so a prefix is a binary-searched range, from which the most popular N are picked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSuggestionIndex {
+
+    private static final Comparator<Entry> BY_KEY = Comparator.comparing(Entry::key);
+    // Popularity per unit sold; reviews count 1 and being featured 5
+    private static final long SALE_WEIGHT = 2;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderRepository orderRepository;
+
+    private final Map<Long, List<Entry>> productEntries = new HashMap<>();
+    private final Map<Long, List<Entry>> categoryEntries = new HashMap<>();
+    private final Map<Long, Long> unitsSold = new HashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Entry[0]);
+
+    // Writers hold the monitor, including across the load of a rebuild; readers only see published snapshots
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        unitsSold.clear();
+        for (Object[] row : orderRepository.sumQuantitiesByProduct()) {
+            unitsSold.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        productEntries.clear();
+        categoryEntries.clear();
+        productRepository.findAllByActiveTrue().forEach(this::putProduct);
+        categoryRepository.findByActiveTrue().forEach(this::putCategory);
+        List<Entry> all = new ArrayList<>();
+        productEntries.values().forEach(all::addAll);
+        categoryEntries.values().forEach(all::addAll);
+        Entry[] entries = all.toArray(new Entry[0]);
+        Arrays.sort(entries, BY_KEY);
+        publish(entries);
+        log.info("Suggestion index built with {} keys", snapshot.keys().length);
+    }
+
+    public void index(Product product) {
+        index(List.of(product));
+    }
+
+    // One merge into the published snapshot for the whole batch
+    public void index(Collection<Product> products) {
+        Map<Long, Product> active = new LinkedHashMap<>();
+        Set<Long> inactive = new HashSet<>();
+        for (Product product : products) {
+            if (Boolean.TRUE.equals(product.getActive())) {
+                active.put(product.getId(), product);
+            } else {
+                inactive.add(product.getId());
+            }
+        }
+        AfterCommit.run(() -> applyProducts(active.values(), inactive));
+    }
+
+    public void index(Category category) {
+        boolean active = Boolean.TRUE.equals(category.getActive());
+        List<Entry> entries = active ? categoryEntries(category) : null;
+        Long id = category.getId();
+        AfterCommit.run(() -> applyCategory(id, entries));
+    }
+
+    /**
+     * Adds units sold per product to the popularity ranking. Cancellations are only taken out by the
+     * next rebuild.
+     */
+    public synchronized void recordSales(Map<Long, Long> units) {
+        Set<String> owners = new HashSet<>();
+        List<Entry> added = new ArrayList<>();
+        units.forEach((id, quantity) -> {
+            unitsSold.merge(id, quantity, Long::sum);
+            List<Entry> entries = productEntries.get(id);
+            if (entries != null) {
+                List<Entry> updated = entries.stream()
+                        .map(entry -> entry.withPopularity(entry.popularity() + quantity * SALE_WEIGHT))
+                        .toList();
+                productEntries.put(id, updated);
+                owners.add(owner(SuggestionDTO.Type.PRODUCT, id));
+                added.addAll(updated);
+            }
+        });
+        if (!owners.isEmpty()) {
+            merge(owners, added);
+        }
+    }
+
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = String.join(" ", TurkishTextAnalyzer.tokenize(query));
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Keep a trailing space: "kupa " should only complete whole-word "kupa"
+        if (Character.isWhitespace(query.charAt(query.length() - 1))) {
+            prefix = prefix + " ";
+        }
+        Snapshot current = snapshot;
+        int from = lowerBound(current.keys(), prefix);
+        int to = lowerBound(current.keys(), prefix + Character.MAX_VALUE);
+
+        // Best entry per suggestion, then the top N by popularity
+        Map<String, Entry> best = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            Entry entry = current.entries()[i];
+            best.merge(entry.identity(), entry, (a, b) -> a.popularity() >= b.popularity() ? a : b);
+        }
+        PriorityQueue<Entry> top = new PriorityQueue<>(Comparator.comparingLong(Entry::popularity));
+        for (Entry entry : best.values()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<SuggestionDTO> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            SuggestionDTO suggestion = top.poll().suggestion();
+            suggestions.add(0, new SuggestionDTO(suggestion.getText(), suggestion.getType(), suggestion.getId()));
+        }
+        return suggestions;
+    }
+
+    private synchronized void applyProducts(Collection<Product> active, Set<Long> inactive) {
+        Set<String> owners = new HashSet<>();
+        List<Entry> added = new ArrayList<>();
+        for (Product product : active) {
+            List<Entry> entries = productEntries(product);
+            productEntries.put(product.getId(), entries);
+            owners.add(owner(SuggestionDTO.Type.PRODUCT, product.getId()));
+            added.addAll(entries);
+        }
+        for (Long id : inactive) {
+            if (productEntries.remove(id) != null) {
+                owners.add(owner(SuggestionDTO.Type.PRODUCT, id));
+            }
+        }
+        if (!owners.isEmpty()) {
+            merge(owners, added);
+        }
+    }
+
+    private synchronized void applyCategory(Long id, List<Entry> entries) {
+        if (entries == null) {
+            categoryEntries.remove(id);
+        } else {
+            categoryEntries.put(id, entries);
+        }
+        merge(Set.of(owner(SuggestionDTO.Type.CATEGORY, id)), entries != null ? entries : List.of());
+    }
+
+    private void putProduct(Product product) {
+        productEntries.put(product.getId(), productEntries(product));
+    }
+
+    private void putCategory(Category category) {
+        categoryEntries.put(category.getId(), categoryEntries(category));
+    }
+
+    // Called with the monitor held, since it reads unitsSold
+    private List<Entry> productEntries(Product product) {
+        long popularity = unitsSold.getOrDefault(product.getId(), 0L) * SALE_WEIGHT
+                + (product.getReviewCount() != null ? product.getReviewCount() : 0)
+                + (Boolean.TRUE.equals(product.getFeatured()) ? 5 : 0);
+        return entries(SuggestionDTO.Type.PRODUCT, product.getId(), popularity,
+                product.getNameTr(), product.getNameEn());
+    }
+
+    private List<Entry> categoryEntries(Category category) {
+        // Categories rank above single products for the same prefix
+        return entries(SuggestionDTO.Type.CATEGORY, category.getId(), Long.MAX_VALUE / 2,
+                category.getNameTr(), category.getNameEn());
+    }
+
+    private static List<Entry> entries(SuggestionDTO.Type type, Long id, long popularity, String... names) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            SuggestionDTO suggestion = new SuggestionDTO(name.trim(), type, id);
+            String owner = owner(type, id);
+            String identity = owner + ":" + name.trim();
+            List<String> tokens = TurkishTextAnalyzer.tokenize(name);
+            for (int i = 0; i < tokens.size(); i++) {
+                String key = String.join(" ", tokens.subList(i, tokens.size()));
+                entries.putIfAbsent(key + "\u0000" + identity, new Entry(key, owner, identity, suggestion, popularity));
+            }
+        }
+        return List.copyOf(entries.values());
+    }
+
+    private static String owner(SuggestionDTO.Type type, Long id) {
+        return type + ":" + id;
+    }
+
+    /**
+     * Replaces the entries of the given owners in the published snapshot: the new entries are sorted
+     * on their own and merged in one pass over the existing, already sorted array.
+     */
+    private void merge(Set<String> owners, List<Entry> added) {
+        Entry[] current = snapshot.entries();
+        Entry[] fresh = added.toArray(new Entry[0]);
+        Arrays.sort(fresh, BY_KEY);
+        Entry[] merged = new Entry[current.length + fresh.length];
+        int size = 0;
+        int next = 0;
+        for (Entry entry : current) {
+            if (owners.contains(entry.owner())) {
+                continue;
+            }
+            while (next < fresh.length && BY_KEY.compare(fresh[next], entry) < 0) {
+                merged[size++] = fresh[next++];
+            }
+            merged[size++] = entry;
+        }
+        while (next < fresh.length) {
+            merged[size++] = fresh[next++];
+        }
+        publish(Arrays.copyOf(merged, size));
+    }
+
+    private void publish(Entry[] entries) {
+        String[] keys = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key();
+        }
+        snapshot = new Snapshot(keys, entries);
+    }
+
+    private static int lowerBound(String[] keys, String value) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Entry(String key, String owner, String identity, SuggestionDTO suggestion, long popularity) {
+
+        Entry withPopularity(long popularity) {
+            return new Entry(key, owner, identity, suggestion, popularity);
+        }
+    }
+
+    private record Snapshot(String[] keys, Entry[] entries) {
+    }
+}
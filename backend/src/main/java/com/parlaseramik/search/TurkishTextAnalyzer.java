@@ -0,0 +1,58 @@
+package com.parlaseramik.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turkish-aware case folding and tokenization shared by indexing and querying.
+ * "İZMİR", "izmir", "Izmir" and "ızmır" all fold to "izmir".
+ */
+public final class TurkishTextAnalyzer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TurkishTextAnalyzer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder folded = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                case 'ı', 'î' -> folded.append('i');
+                case 'ç' -> folded.append('c');
+                case 'ğ' -> folded.append('g');
+                case 'ö' -> folded.append('o');
+                case 'ş' -> folded.append('s');
+                case 'ü', 'û' -> folded.append('u');
+                case 'â' -> folded.append('a');
+                default -> folded.append(c);
+            }
+        }
+        return COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
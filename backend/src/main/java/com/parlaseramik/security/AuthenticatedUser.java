@@ -0,0 +1,63 @@
+package com.parlaseramik.security;
+
+import com.parlaseramik.entity.User;
+import io.jsonwebtoken.MalformedJwtException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Request principal built from the claims of a verified access token, so authenticating a request does not
+ * need the user row. {@link UserCache} says whether the token is still honoured.
+ */
+public record AuthenticatedUser(Long id, String email, User.Role role, int credentialsVersion) implements UserDetails {
+
+    public static AuthenticatedUser of(VerifiedToken token) {
+        Object id = token.claims().get(JwtService.CLAIM_USER_ID);
+        Object role = token.claims().get(JwtService.CLAIM_ROLE);
+        Object version = token.claims().get(JwtService.CLAIM_CREDENTIALS_VERSION);
+        if (!(id instanceof Number) || !(role instanceof String) || !(version instanceof Number)) {
+            throw new MalformedJwtException("Token has no user claims");
+        }
+        return new AuthenticatedUser(
+                ((Number) id).longValue(), token.subject(), User.Role.valueOf((String) role), ((Number) version).intValue());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
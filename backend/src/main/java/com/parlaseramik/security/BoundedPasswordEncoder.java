@@ -0,0 +1,117 @@
+package com.parlaseramik.security;
+
+import com.parlaseramik.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt on a small dedicated pool instead of request threads, so a burst of logins can only ever use
+ * {@code threads} cores. When the pool and its queue are full, callers are turned away with 429 right
+ * away rather than piling up behind the hashing.
+ * <p>
+ * The cost factor is calibrated at startup to the slowest one that still hashes within
+ * {@code target-hash-time} on this machine (never below {@link #MIN_STRENGTH}); stored hashes with a
+ * lower cost report {@link #upgradeEncoding} so they are rehashed on the next successful login.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 14;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public BoundedPasswordEncoder(
+            @Value("${application.security.password.target-hash-time:250ms}") Duration targetHashTime,
+            @Value("${application.security.password.threads:2}") int threads,
+            @Value("${application.security.password.queue-capacity:32}") int queueCapacity,
+            @Value("${application.security.password.timeout:5s}") Duration timeout
+    ) {
+        this.delegate = new BCryptPasswordEncoder(calibrate(targetHashTime));
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeout = timeout;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Sunucu şu anda yoğun, lütfen biraz sonra tekrar deneyin");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException("Sunucu şu anda yoğun, lütfen biraz sonra tekrar deneyin");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int calibrate(Duration target) {
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH) {
+            BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(strength + 1);
+            long start = System.nanoTime();
+            candidate.encode("calibration");
+            if (Duration.ofNanos(System.nanoTime() - start).compareTo(target) > 0) {
+                break;
+            }
+            strength++;
+        }
+        log.info("BCrypt cost calibrated to {} for a {} ms target", strength, target.toMillis());
+        return strength;
+    }
+}
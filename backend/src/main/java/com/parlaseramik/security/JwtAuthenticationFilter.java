@@ -12,8 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -26,7 +24,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final TokenRevocations tokenRevocations;
     
     @Override
     protected void doFilterInternal(
@@ -36,7 +35,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
         
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -46,16 +44,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Parsed and verified once; the principal comes from its claims, the user state from UserCache
+            VerifiedToken token = jwtService.verify(jwt);
             
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (JwtService.TYPE_REFRESH.equals(token.claims().get(JwtService.CLAIM_TYPE))) {
+                    throw new MalformedJwtException("Refresh token used as access token");
+                }
+                AuthenticatedUser principal = AuthenticatedUser.of(token);
+                
+                Object familyId = token.claims().get(JwtService.CLAIM_FAMILY);
+                if (familyId instanceof String family && tokenRevocations.isRevoked(family)) {
+                    log.warn("Revoked session used by {}", principal.getUsername());
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"error\": \"Session revoked\", \"message\": \"Oturumunuz sonlandırılmış. Lütfen tekrar giriş yapın.\"}");
+                    return;
+                }
                 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userCache.isCurrent(principal)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            principal,
                             null,
-                            userDetails.getAuthorities()
+                            principal.getAuthorities()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
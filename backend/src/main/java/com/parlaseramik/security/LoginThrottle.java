@@ -0,0 +1,51 @@
+package com.parlaseramik.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.parlaseramik.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Token buckets per client IP and per account, checked before any password hashing so that credential
+ * stuffing is turned away without spending BCrypt time on it. Buckets nobody has used for
+ * {@code idle-timeout} are dropped.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> accountBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final int accountCapacity;
+    private final Duration accountRefill;
+    private final int ipCapacity;
+    private final Duration ipRefill;
+
+    public LoginThrottle(
+            @Value("${application.security.login.account.capacity:5}") int accountCapacity,
+            @Value("${application.security.login.account.refill-period:1m}") Duration accountRefill,
+            @Value("${application.security.login.ip.capacity:20}") int ipCapacity,
+            @Value("${application.security.login.ip.refill-period:3s}") Duration ipRefill,
+            @Value("${application.security.login.idle-timeout:15m}") Duration idleTimeout,
+            @Value("${application.security.login.maximum-size:100000}") long maximumSize
+    ) {
+        this.accountBuckets = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(idleTimeout).build();
+        this.ipBuckets = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(idleTimeout).build();
+        this.accountCapacity = accountCapacity;
+        this.accountRefill = accountRefill;
+        this.ipCapacity = ipCapacity;
+        this.ipRefill = ipRefill;
+    }
+
+    public void acquire(String email, String clientIp) {
+        TokenBucket ip = ipBuckets.get(clientIp, key -> new TokenBucket(ipCapacity, ipRefill));
+        TokenBucket account = accountBuckets.get(email.toLowerCase(Locale.ROOT),
+                key -> new TokenBucket(accountCapacity, accountRefill));
+        if (!ip.tryConsume() || !account.tryConsume()) {
+            throw new TooManyRequestsException("Çok fazla giriş denemesi, lütfen biraz sonra tekrar deneyin");
+        }
+    }
+}
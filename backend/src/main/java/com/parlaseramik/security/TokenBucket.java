@@ -0,0 +1,33 @@
+package com.parlaseramik.security;
+
+import java.time.Duration;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and gains one every {@code refillPeriod}.
+ * Refill is computed lazily on each call, so idle buckets cost nothing.
+ */
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long refillNanos;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, Duration refillPeriod) {
+        this.capacity = capacity;
+        this.refillNanos = refillPeriod.toNanos();
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryConsume() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / refillNanos);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
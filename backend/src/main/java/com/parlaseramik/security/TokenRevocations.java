@@ -0,0 +1,129 @@
+package com.parlaseramik.security;
+
+import com.parlaseramik.repository.RefreshTokenFamilyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked refresh-token families that have not expired yet, checked for every authenticated request.
+ * The exact set (family id to expiry) sits behind a Bloom filter, so the usual answer, "not revoked", costs
+ * a few hashes and no lookup at all. The set is the database's list of revoked families: loaded at startup
+ * and then polled every {@code sync-interval} for revocations made on other nodes. The filter is rebuilt
+ * every {@code rebuild-interval} without the expired entries, since a Bloom filter cannot remove them.
+ */
+@Slf4j
+@Component
+public class TokenRevocations {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final TransactionTemplate transaction;
+    private final int expectedRevocations;
+    private final Duration syncInterval;
+    private final Duration rebuildInterval;
+
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime syncedUntil;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocations");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TokenRevocations(
+            RefreshTokenFamilyRepository familyRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${application.security.revocation.expected-revocations:10000}") int expectedRevocations,
+            @Value("${application.security.revocation.sync-interval:30s}") Duration syncInterval,
+            @Value("${application.security.revocation.rebuild-interval:1h}") Duration rebuildInterval
+    ) {
+        this.familyRepository = familyRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.expectedRevocations = expectedRevocations;
+        this.syncInterval = syncInterval;
+        this.rebuildInterval = rebuildInterval;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        sync();
+        long syncMillis = syncInterval.toMillis();
+        long rebuildMillis = rebuildInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, rebuildMillis, rebuildMillis, TimeUnit.MILLISECONDS);
+        log.info("Loaded {} revoked refresh-token families", revoked.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean isRevoked(String familyId) {
+        return filter.mightContain(familyId) && revoked.containsKey(familyId);
+    }
+
+    /**
+     * Records a revocation made on this node; other nodes pick it up from the database on their next sync.
+     */
+    public void revoke(String familyId, LocalDateTime expiresAt) {
+        revoked.put(familyId, expiresAt);
+        filter.put(familyId);
+    }
+
+    private void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // The first sync loads every unexpired revocation; later ones overlap the previous window a little
+        // so a revocation committed during the last poll is not missed
+        LocalDateTime since = syncedUntil == null ? LocalDateTime.of(2000, 1, 1, 0, 0) : syncedUntil.minus(syncInterval);
+        for (Object[] row : familyRepository.findRevokedSince(since, now)) {
+            revoke((String) row[0], (LocalDateTime) row[1]);
+        }
+        syncedUntil = now;
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        // Revocations made while copying are added to the new filter as well
+        revoked.keySet().forEach(rebuilt::put);
+        Integer deleted = transaction.execute(status -> familyRepository.deleteExpired(now));
+        log.debug("Rebuilt revocation filter with {} families, deleted {} expired families", revoked.size(), deleted);
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Revocation sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Revocation filter rebuild failed: {}", e.getMessage());
+        }
+    }
+}
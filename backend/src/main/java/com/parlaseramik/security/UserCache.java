@@ -0,0 +1,60 @@
+package com.parlaseramik.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.entity.User;
+import com.parlaseramik.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Small local cache of what request authentication checks per user: credentials version, enabled flag and
+ * role. Entries are immutable snapshots, never entities; code that needs a user row as a foreign key takes a
+ * reference from {@link UserRepository#getReferenceById}. Entries are dropped after commit whenever
+ * credentials or role change, and expire after {@code ttl} so other nodes catch up with such changes.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Optional<CachedUser>> users;
+
+    public UserCache(
+            UserRepository userRepository,
+            @Value("${application.security.user-cache.maximum-size:1000}") long maximumSize,
+            @Value("${application.security.user-cache.ttl:10m}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Whether tokens issued for the principal are still honoured: the user exists, is enabled, and neither its
+     * credentials version nor its role has moved on since the token was issued.
+     */
+    public boolean isCurrent(AuthenticatedUser principal) {
+        return users.get(principal.id(), id -> userRepository.findById(id).map(CachedUser::of))
+                .filter(CachedUser::enabled)
+                .filter(user -> user.credentialsVersion() == principal.credentialsVersion())
+                .filter(user -> user.role() == principal.role())
+                .isPresent();
+    }
+
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> users.invalidate(userId));
+    }
+
+    private record CachedUser(Long id, int credentialsVersion, boolean enabled, User.Role role) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getCredentialsVersion(), user.isEnabled(), user.getRole());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.parlaseramik.security;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * The claims of a JWT whose signature has been checked. Produced once per token by
+ * {@link JwtService#verify(String)}; everything downstream reads from here instead of re-parsing.
+ */
+public record VerifiedToken(String subject, Instant issuedAt, Instant expiresAt, Map<String, Object> claims) {
+
+    public VerifiedToken {
+        claims = Map.copyOf(claims);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
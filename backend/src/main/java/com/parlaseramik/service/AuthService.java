@@ -3,15 +3,11 @@ package com.parlaseramik.service;
 import com.parlaseramik.dto.AuthRequest;
 import com.parlaseramik.dto.AuthResponse;
 import com.parlaseramik.dto.RegisterRequest;
-import com.parlaseramik.dto.UserDTO;
 import com.parlaseramik.entity.User;
 import com.parlaseramik.exception.BadRequestException;
 import com.parlaseramik.repository.UserRepository;
-import com.parlaseramik.security.JwtService;
+import com.parlaseramik.security.LoginThrottle;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,9 +18,11 @@ public class AuthService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
-    private final ModelMapper modelMapper;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    
+    // Hash checked for unknown emails so they take as long as a wrong password
+    private volatile String unknownUserPassword;
     
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -44,38 +42,33 @@ public class AuthService {
         
         userRepository.save(user);
         
-        String jwtToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-        
-        return AuthResponse.builder()
-                .token(jwtToken)
-                .refreshToken(refreshToken)
-                .user(modelMapper.map(user, UserDTO.class))
-                .build();
+        return refreshTokenService.startSession(user);
     }
     
-    public AuthResponse authenticate(AuthRequest request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
-        } catch (Exception e) {
+    public AuthResponse authenticate(AuthRequest request, String clientIp) {
+        loginThrottle.acquire(request.getEmail(), clientIp);
+        
+        User user = userRepository.findByEmail(request.getEmail()).orElse(null);
+        if (user == null) {
+            passwordEncoder.matches(request.getPassword(), unknownUserPassword());
             throw new BadRequestException("E-posta veya şifre hatalı");
         }
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword()) || !user.isEnabled()) {
+            throw new BadRequestException("E-posta veya şifre hatalı");
+        }
+        // Hashes from before a cost increase are replaced while the plain password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            userRepository.save(user);
+        }
         
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new BadRequestException("E-posta veya şifre hatalı"));
-        
-        String jwtToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-        
-        return AuthResponse.builder()
-                .token(jwtToken)
-                .refreshToken(refreshToken)
-                .user(modelMapper.map(user, UserDTO.class))
-                .build();
+        return refreshTokenService.startSession(user);
+    }
+    
+    private String unknownUserPassword() {
+        if (unknownUserPassword == null) {
+            unknownUserPassword = passwordEncoder.encode("unknown-user");
+        }
+        return unknownUserPassword;
     }
 }
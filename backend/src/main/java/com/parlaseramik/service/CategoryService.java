@@ -1,12 +1,15 @@
 package com.parlaseramik.service;
 
+import com.parlaseramik.catalog.CatalogSnapshot;
+import com.parlaseramik.catalog.CatalogSnapshotService;
 import com.parlaseramik.dto.CategoryDTO;
 import com.parlaseramik.entity.Category;
+import com.parlaseramik.event.DomainEventPublisher;
+import com.parlaseramik.event.ProductChangedEvent;
 import com.parlaseramik.exception.ResourceNotFoundException;
 import com.parlaseramik.repository.CategoryRepository;
+import com.parlaseramik.search.ProductSuggestionIndex;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,31 +21,41 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final DomainEventPublisher domainEventPublisher;
 
-    @Cacheable(value = "categories")
     public List<CategoryDTO> getAllCategories() {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot != null) {
+            return snapshot.getCategories();
+        }
         return categoryRepository.findByActiveTrue()
                 .stream()
-                .map(this::convertToDTO)
+                .map(CategoryDTO::of)
                 .collect(Collectors.toList());
     }
 
     public List<CategoryDTO> getAllCategoriesIncludingInactive() {
         return categoryRepository.findAll()
                 .stream()
-                .map(this::convertToDTO)
+                .map(CategoryDTO::of)
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "category", key = "#id")
     public CategoryDTO getCategoryById(Long id) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        CategoryDTO cached = snapshot != null ? snapshot.getCategory(id) : null;
+        if (cached != null) {
+            return cached;
+        }
+        // Inactive categories are not in the snapshot
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-        return convertToDTO(category);
+        return CategoryDTO.of(category);
     }
 
     @Transactional
-    @CacheEvict(value = {"categories", "category"}, allEntries = true)
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         // Check if category with same name already exists
         if (categoryRepository.existsByNameTr(categoryDTO.getNameTr())) {
@@ -60,11 +73,12 @@ public class CategoryService {
                 .active(true)
                 .build();
         Category savedCategory = categoryRepository.save(category);
-        return convertToDTO(savedCategory);
+        productSuggestionIndex.index(savedCategory);
+        catalogSnapshotService.requestRebuild();
+        return CategoryDTO.of(savedCategory);
     }
 
     @Transactional
-    @CacheEvict(value = {"categories", "category"}, allEntries = true)
     public CategoryDTO updateCategory(Long id, CategoryDTO categoryDTO) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
@@ -75,28 +89,21 @@ public class CategoryService {
         category.setDescriptionEn(categoryDTO.getDescriptionEn());
 
         Category updatedCategory = categoryRepository.save(category);
-        return convertToDTO(updatedCategory);
+        // Search and browse results carry the category names
+        updatedCategory.getProducts().forEach(product ->
+                domainEventPublisher.publish(new ProductChangedEvent(product.getId())));
+        productSuggestionIndex.index(updatedCategory);
+        catalogSnapshotService.requestRebuild();
+        return CategoryDTO.of(updatedCategory);
     }
 
     @Transactional
-    @CacheEvict(value = {"categories", "category"}, allEntries = true)
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         category.setActive(false);
         categoryRepository.save(category);
-    }
-
-    private CategoryDTO convertToDTO(Category category) {
-        return CategoryDTO.builder()
-                .id(category.getId())
-                .nameTr(category.getNameTr())
-                .nameEn(category.getNameEn())
-                .descriptionTr(category.getDescriptionTr())
-                .descriptionEn(category.getDescriptionEn())
-                .active(category.getActive())
-                .createdAt(category.getCreatedAt())
-                .updatedAt(category.getUpdatedAt())
-                .build();
+        productSuggestionIndex.index(category);
+        catalogSnapshotService.requestRebuild();
     }
 }
@@ -0,0 +1,333 @@
+package com.parlaseramik.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parlaseramik.exception.BadRequestException;
+import com.parlaseramik.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams whole tables to admins as NDJSON or CSV. Rows are read through a forward-only JDBC cursor
+ * with a bounded fetch size and written as they arrive, so memory stays flat whatever the export size.
+ * Each running export holds one pooled connection; a semaphore keeps them from crowding out requests.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    public enum Dataset {
+        ORDERS("SELECT o.id AS order_id, o.order_number, o.created_at, o.status, o.payment_status, " +
+               "o.total_amount, u.email AS customer_email, oi.product_id, p.name_tr AS product_name, " +
+               "oi.quantity, oi.price, oi.subtotal, o.tracking_number " +
+               "FROM orders o JOIN users u ON u.id = o.user_id " +
+               "LEFT JOIN order_items oi ON oi.order_id = o.id " +
+               "LEFT JOIN products p ON p.id = oi.product_id " +
+               "ORDER BY o.id, oi.id"),
+        PRODUCTS("SELECT p.id, p.name_tr, p.name_en, c.name_tr AS category, p.price, p.stock, p.active, " +
+                 "p.featured, p.average_rating, p.review_count, p.shopier_link, p.created_at, p.updated_at " +
+                 "FROM products p LEFT JOIN categories c ON c.id = p.category_id " +
+                 "ORDER BY p.id"),
+        REVIEWS("SELECT r.id, r.product_id, p.name_tr AS product_name, u.email AS customer_email, r.rating, " +
+                "r.comment, r.admin_reply, r.approved, r.created_at " +
+                "FROM reviews r JOIN products p ON p.id = r.product_id JOIN users u ON u.id = r.user_id " +
+                "ORDER BY r.id");
+
+        private final String sql;
+
+        Dataset(String sql) {
+            this.sql = sql;
+        }
+
+        public static Dataset of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Geçersiz dışa aktarma: " + name);
+            }
+        }
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Geçersiz format: " + name);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final Semaphore runningExports;
+
+    public ExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${application.export.fetch-size:500}") int fetchSize,
+            @Value("${application.export.max-concurrent:2}") int maxConcurrent
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL only streams with a fetch size inside a transaction (autocommit off)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.runningExports = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserves an export slot right away (failing fast when all are busy) and returns the body that
+     * streams the dataset. The slot is released once the body has been written, or when the async
+     * request ends without running it (timeout, client gone, rejected by the executor).
+     */
+    public StreamingResponseBody export(Dataset dataset, Format format) {
+        if (!runningExports.tryAcquire()) {
+            throw new TooManyRequestsException("Başka bir dışa aktarma devam ediyor, lütfen daha sonra tekrar deneyin");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                runningExports.release();
+            }
+        };
+        releaseOnAsyncCompletion(release);
+        return out -> {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+                Long count = readOnlyTransaction.execute(status -> stream(dataset, rows));
+                rows.finish();
+                writer.flush();
+                log.info("Exported {} {} rows as {}", count, dataset, format);
+            } finally {
+                release.run();
+            }
+        };
+    }
+
+    private static void releaseOnAsyncCompletion(Runnable release) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(
+                ExportService.class.getName(), new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        release.run();
+                    }
+                });
+    }
+
+    private long stream(Dataset dataset, RowWriter rows) {
+        return jdbcTemplate.query(dataset.sql, resultSet -> {
+            long count = 0;
+            try {
+                rows.header(resultSet.getMetaData());
+                while (resultSet.next()) {
+                    rows.row(resultSet);
+                    if (++count % FLUSH_EVERY_ROWS == 0) {
+                        rows.flush();
+                    }
+                }
+            } catch (IOException e) {
+                // Usually the client went away; aborts the query and the transaction
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+    }
+
+    private interface RowWriter {
+        void header(ResultSetMetaData metaData) throws SQLException, IOException;
+
+        void row(ResultSet resultSet) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private String[] columns;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void header(ResultSetMetaData metaData) throws SQLException {
+            columns = columnLabels(metaData);
+        }
+
+        @Override
+        public void row(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                Object value = resultSet.getObject(i + 1);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+                    generator.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.doubleValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(text(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            // BOM so that spreadsheet applications pick UTF-8 for the Turkish characters
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void header(ResultSetMetaData metaData) throws SQLException, IOException {
+            line(columnLabels(metaData));
+        }
+
+        @Override
+        public void row(ResultSet resultSet) throws SQLException, IOException {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            String[] values = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                Object value = resultSet.getObject(i + 1);
+                values[i] = value == null ? "" : text(value);
+            }
+            line(values);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void line(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            // Keep customer-written text from being evaluated as a formula when opened in a spreadsheet
+            if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0 && !isNumeric(value)) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+            return value;
+        }
+
+        private static boolean isNumeric(String value) {
+            try {
+                new BigDecimal(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    private static String[] columnLabels(ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+
+    private static String text(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value.toString();
+    }
+}
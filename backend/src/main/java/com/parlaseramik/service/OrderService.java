@@ -1,24 +1,40 @@
 package com.parlaseramik.service;
 
 import com.parlaseramik.dto.CreateOrderRequest;
+import com.parlaseramik.dto.CursorPage;
 import com.parlaseramik.dto.OrderDTO;
 import com.parlaseramik.dto.OrderItemDTO;
+import com.parlaseramik.dto.PageCursor;
 import com.parlaseramik.entity.*;
+import com.parlaseramik.event.DomainEventPublisher;
+import com.parlaseramik.event.OrderPlacedEvent;
+import com.parlaseramik.event.OrderStatusChangedEvent;
+import com.parlaseramik.event.ProductChangedEvent;
 import com.parlaseramik.exception.BadRequestException;
 import com.parlaseramik.exception.ResourceNotFoundException;
+import com.parlaseramik.inventory.InventoryReservationService;
 import com.parlaseramik.repository.OrderRepository;
 import com.parlaseramik.repository.ProductRepository;
+import com.parlaseramik.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,12 +43,36 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final InventoryReservationService inventoryReservationService;
     private final ModelMapper modelMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final DomainEventPublisher domainEventPublisher;
+
+    // The stock check and the decrement are one statement, so concurrent checkouts cannot oversell
+    private static final String ADJUST_STOCK_SQL =
+            "UPDATE products SET stock = stock + ?, updated_at = ? WHERE id = ? AND stock + ? >= 0";
+    private static final Comparator<Product> BY_ID = Comparator.comparing(Product::getId);
 
     public Page<OrderDTO> getAllOrders(Pageable pageable) {
         return orderRepository.findAllByOrderByCreatedAtDesc(pageable).map(this::convertToDTO);
     }
 
+    public CursorPage<OrderDTO> scrollOrders(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Order> rows = after == null
+                ? orderRepository.findAllByOrderByCreatedAtDescIdDesc(limit)
+                : orderRepository.findByCreatedAtLessThanOrCreatedAtAndIdLessThanOrderByCreatedAtDescIdDesc(
+                        after.createdAt(), after.createdAt(), after.id(), limit);
+        CursorPage<Order> page = CursorPage.of(rows, size, order -> new PageCursor(order.getCreatedAt(), order.getId()));
+        return new CursorPage<>(
+                page.getContent().stream().map(this::convertToDTO).collect(Collectors.toList()),
+                page.getNextCursor(),
+                page.isHasNext()
+        );
+    }
+
     public List<OrderDTO> getUserOrders(Long userId, Order.OrderStatus status) {
         List<Order> orders;
         if (status != null) {
@@ -56,7 +96,8 @@ public class OrderService {
     }
 
     @Transactional
-    public OrderDTO createOrder(CreateOrderRequest request, User user) {
+    public OrderDTO createOrder(CreateOrderRequest request, Long userId) {
+        User user = userRepository.getReferenceById(userId);
         Order order = new Order();
         order.setUser(user);
         order.setOrderNumber("PS-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
@@ -69,16 +110,20 @@ public class OrderService {
         address.setUser(user);
         order.setShippingAddress(address);
 
+        // Load every line item's product in one query
+        Map<Long, Product> products = productRepository.findAllById(
+                request.getItems().stream().map(CreateOrderRequest.OrderItemRequest::getProductId).toList()
+        ).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+
         // Create order items
         List<OrderItem> orderItems = new ArrayList<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
+        Map<Product, Integer> stockChanges = new TreeMap<>(BY_ID);
 
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Ürün bulunamadı: " + itemRequest.getProductId()));
-
-            if (product.getStock() < itemRequest.getQuantity()) {
-                throw new BadRequestException("Yetersiz stok: " + product.getNameTr());
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Ürün bulunamadı: " + itemRequest.getProductId());
             }
 
             OrderItem orderItem = new OrderItem();
@@ -90,16 +135,22 @@ public class OrderService {
             orderItems.add(orderItem);
 
             totalAmount = totalAmount.add(orderItem.getSubtotal());
-
-            // Update stock
-            product.setStock(product.getStock() - itemRequest.getQuantity());
-            productRepository.save(product);
+            stockChanges.merge(product, -itemRequest.getQuantity(), Integer::sum);
+        }
+        if (inventoryReservationService.isEnabled()) {
+            // Stock comes from the in-memory counters and is written behind to the products table
+            inventoryReservationService.confirm(request.getReservationId(), userId, quantities(stockChanges, -1));
+            order.setStockApplied(false);
+        } else {
+            adjustStock(stockChanges);
         }
 
         order.setOrderItems(orderItems);
         order.setTotalAmount(totalAmount);
 
         Order savedOrder = orderRepository.save(order);
+        domainEventPublisher.publish(new OrderPlacedEvent(savedOrder.getId(), savedOrder.getOrderNumber(),
+                userId, savedOrder.getTotalAmount(), quantities(stockChanges, -1)));
         return convertToDTO(savedOrder);
     }
 
@@ -108,6 +159,7 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sipariş bulunamadı"));
         order.setStatus(status);
+        publishStatusChanged(order);
         return convertToDTO(orderRepository.save(order));
     }
 
@@ -116,6 +168,7 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sipariş bulunamadı"));
         order.setPaymentStatus(paymentStatus);
+        publishStatusChanged(order);
         return convertToDTO(orderRepository.save(order));
     }
 
@@ -129,16 +182,61 @@ public class OrderService {
         }
 
         // Restore stock
+        Map<Product, Integer> stockChanges = new TreeMap<>(BY_ID);
         for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
+            stockChanges.merge(item.getProduct(), item.getQuantity(), Integer::sum);
+        }
+        // An order whose stock was never written behind just drops out of the flush
+        if (orderRepository.markStockApplied(order.getId()) == 0) {
+            adjustStock(stockChanges);
         }
+        order.setStockApplied(true);
+        inventoryReservationService.restock(quantities(stockChanges, 1));
 
         order.setStatus(Order.OrderStatus.CANCELLED);
+        publishStatusChanged(order);
         return convertToDTO(orderRepository.save(order));
     }
 
+    /**
+     * Applies all stock changes as one JDBC batch of conditional updates, in id order so concurrent orders lock
+     * rows in the same order. Throws (rolling back the whole order) if any product would go below zero.
+     */
+    private void adjustStock(Map<Product, Integer> changes) {
+        List<Product> products = new ArrayList<>(changes.keySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(ADJUST_STOCK_SQL, products, products.size(), (ps, product) -> {
+            int delta = changes.get(product);
+            ps.setInt(1, delta);
+            ps.setTimestamp(2, now);
+            ps.setLong(3, product.getId());
+            ps.setInt(4, delta);
+        });
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new BadRequestException("Yetersiz stok: " + products.get(i).getNameTr());
+                }
+                i++;
+            }
+        }
+
+        // The loaded entities keep the old stock but are never dirtied, so Hibernate does not write it back
+        products.forEach(product -> domainEventPublisher.publish(new ProductChangedEvent(product.getId())));
+    }
+
+    private void publishStatusChanged(Order order) {
+        domainEventPublisher.publish(new OrderStatusChangedEvent(
+                order.getId(), order.getOrderNumber(), order.getUser().getId(), order.getStatus(), order.getPaymentStatus()));
+    }
+
+    private static Map<Long, Integer> quantities(Map<Product, Integer> stockChanges, int sign) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        stockChanges.forEach((product, delta) -> quantities.put(product.getId(), sign * delta));
+        return quantities;
+    }
+
     private OrderDTO convertToDTO(Order order) {
         OrderDTO dto = new OrderDTO();
         dto.setId(order.getId());
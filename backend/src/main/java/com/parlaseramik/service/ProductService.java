@@ -1,21 +1,34 @@
 package com.parlaseramik.service;
 
+import com.parlaseramik.catalog.CatalogSnapshot;
+import com.parlaseramik.catalog.CatalogSnapshotService;
 import com.parlaseramik.dto.CreateProductRequest;
+import com.parlaseramik.dto.CursorPage;
+import com.parlaseramik.dto.PageCursor;
+import com.parlaseramik.dto.ProductBrowseDTO;
+import com.parlaseramik.dto.ProductBrowseRequest;
 import com.parlaseramik.dto.ProductDTO;
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.dto.SuggestionDTO;
 import com.parlaseramik.entity.Category;
 import com.parlaseramik.entity.Product;
+import com.parlaseramik.event.DomainEventPublisher;
+import com.parlaseramik.event.ProductChangedEvent;
 import com.parlaseramik.exception.ResourceNotFoundException;
+import com.parlaseramik.inventory.InventoryReservationService;
 import com.parlaseramik.repository.CategoryRepository;
 import com.parlaseramik.repository.ProductRepository;
+import com.parlaseramik.search.ProductFacetIndex;
+import com.parlaseramik.search.ProductSearchBackend;
+import com.parlaseramik.search.ProductSuggestionIndex;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,38 +36,94 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-
-    public Page<ProductDTO> getAllProducts(Pageable pageable) {
-        return productRepository.findByActiveTrue(pageable).map(this::convertToDTO);
+    private final ProductSearchBackend productSearchBackend;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductSuggestionIndex productSuggestionIndex;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final InventoryReservationService inventoryReservationService;
+    private final DomainEventPublisher domainEventPublisher;
+
+    public Page<ProductSummaryDTO> getAllProducts(Pageable pageable) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot != null) {
+            Page<ProductSummaryDTO> page = snapshot.getProducts(pageable);
+            if (page != null) {
+                return page;
+            }
+        }
+        return withImages(productRepository.findActiveSummaries(pageable));
     }
 
     public Page<ProductDTO> getAllProductsIncludingInactive(Pageable pageable) {
-        return productRepository.findAll(pageable).map(this::convertToDTO);
+        return productRepository.findAll(pageable).map(ProductDTO::of);
     }
 
-    public List<ProductDTO> getFeaturedProducts() {
-        return productRepository.findByFeaturedTrueAndActiveTrue()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<ProductSummaryDTO> getFeaturedProducts() {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot != null) {
+            return snapshot.getFeatured();
+        }
+        List<ProductSummaryDTO> summaries = productRepository.findFeaturedSummaries();
+        productRepository.attachFirstImages(summaries);
+        return summaries;
     }
 
     public ProductDTO getProductById(Long id) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        ProductDTO cached = snapshot != null ? snapshot.getProduct(id) : null;
+        if (cached != null) {
+            return cached;
+        }
+        // Inactive products are not in the snapshot
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return convertToDTO(product);
+        return ProductDTO.of(product);
+    }
+
+    public Page<ProductSummaryDTO> getProductsByCategory(Long categoryId, Pageable pageable) {
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot != null) {
+            return snapshot.getProductsByCategory(categoryId, pageable);
+        }
+        return withImages(productRepository.findActiveSummariesByCategory(categoryId, pageable));
     }
 
-    public Page<ProductDTO> getProductsByCategory(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable).map(this::convertToDTO);
+    public CursorPage<ProductSummaryDTO> scrollProducts(Long categoryId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        CatalogSnapshot snapshot = catalogSnapshotService.current();
+        if (snapshot != null) {
+            return snapshot.scroll(categoryId, after, size);
+        }
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ProductSummaryDTO> rows;
+        if (categoryId == null) {
+            rows = after == null
+                    ? productRepository.scrollActiveSummaries(limit)
+                    : productRepository.scrollActiveSummariesAfter(after.createdAt(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? productRepository.scrollActiveSummariesByCategory(categoryId, limit)
+                    : productRepository.scrollActiveSummariesByCategoryAfter(categoryId, after.createdAt(), after.id(), limit);
+        }
+        CursorPage<ProductSummaryDTO> page = CursorPage.of(rows, size,
+                summary -> new PageCursor(summary.getCreatedAt(), summary.getId()));
+        productRepository.attachFirstImages(page.getContent());
+        return page;
     }
 
-    public Page<ProductDTO> searchProducts(String keyword, Pageable pageable) {
-        return productRepository.searchProducts(keyword, pageable).map(this::convertToDTO);
+    public ProductBrowseDTO browseProducts(ProductBrowseRequest request) {
+        return productFacetIndex.browse(request);
+    }
+
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        return productSuggestionIndex.suggest(query, limit);
+    }
+
+    public Page<ProductSummaryDTO> searchProducts(String keyword, Pageable pageable) {
+        return productSearchBackend.search(keyword, pageable);
     }
 
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts", "product"}, allEntries = true)
     public ProductDTO createProduct(CreateProductRequest request) {
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
@@ -76,14 +145,20 @@ public class ProductService {
                 .build();
 
         Product savedProduct = productRepository.save(product);
-        return convertToDTO(savedProduct);
+        inventoryReservationService.adjust(savedProduct.getId(), savedProduct.getStock());
+        domainEventPublisher.publish(new ProductChangedEvent(savedProduct.getId()));
+        return ProductDTO.of(savedProduct);
     }
 
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts", "product"}, allEntries = true)
     public ProductDTO updateProduct(Long id, CreateProductRequest request) {
-        Product product = productRepository.findById(id)
+        // Locked so the stock change below is measured against the row as the inventory flush leaves it
+        Product product = productRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        int stockChange = request.getStock() - product.getStock();
+        if (stockChange < 0) {
+            inventoryReservationService.checkStock(id, request.getStock());
+        }
 
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
@@ -100,42 +175,25 @@ public class ProductService {
         product.setShopierLink(request.getShopierLink());
 
         Product updatedProduct = productRepository.save(product);
-        return convertToDTO(updatedProduct);
+        if (Boolean.TRUE.equals(updatedProduct.getActive())) {
+            inventoryReservationService.adjust(updatedProduct.getId(), stockChange);
+        }
+        domainEventPublisher.publish(new ProductChangedEvent(updatedProduct.getId()));
+        return ProductDTO.of(updatedProduct);
     }
 
     @Transactional
-    @CacheEvict(value = {"products", "featuredProducts", "product"}, allEntries = true)
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
         product.setActive(false);
         productRepository.save(product);
+        inventoryReservationService.remove(product.getId());
+        domainEventPublisher.publish(new ProductChangedEvent(product.getId()));
     }
 
-    private ProductDTO convertToDTO(Product product) {
-        ProductDTO dto = ProductDTO.builder()
-                .id(product.getId())
-                .nameTr(product.getNameTr())
-                .nameEn(product.getNameEn())
-                .descriptionTr(product.getDescriptionTr())
-                .descriptionEn(product.getDescriptionEn())
-                .price(product.getPrice())
-                .stock(product.getStock())
-                .images(product.getImages())
-                .active(product.getActive())
-                .featured(product.getFeatured())
-                .averageRating(product.getAverageRating())
-                .reviewCount(product.getReviewCount())
-                .shopierLink(product.getShopierLink())
-                .createdAt(product.getCreatedAt())
-                .updatedAt(product.getUpdatedAt())
-                .build();
-
-        if (product.getCategory() != null) {
-            dto.setCategoryId(product.getCategory().getId());
-            dto.setCategoryNameTr(product.getCategory().getNameTr());
-            dto.setCategoryNameEn(product.getCategory().getNameEn());
-        }
-        return dto;
+    private Page<ProductSummaryDTO> withImages(Page<ProductSummaryDTO> page) {
+        productRepository.attachFirstImages(page.getContent());
+        return page;
     }
 }
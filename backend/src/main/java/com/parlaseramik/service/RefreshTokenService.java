@@ -0,0 +1,138 @@
+package com.parlaseramik.service;
+
+import com.parlaseramik.config.AfterCommit;
+import com.parlaseramik.dto.AuthResponse;
+import com.parlaseramik.dto.UserDTO;
+import com.parlaseramik.entity.RefreshTokenFamily;
+import com.parlaseramik.entity.User;
+import com.parlaseramik.exception.UnauthorizedException;
+import com.parlaseramik.repository.RefreshTokenFamilyRepository;
+import com.parlaseramik.repository.UserRepository;
+import com.parlaseramik.security.AuthenticatedUser;
+import com.parlaseramik.security.JwtService;
+import com.parlaseramik.security.TokenRevocations;
+import com.parlaseramik.security.UserCache;
+import com.parlaseramik.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Issues access and refresh tokens per login session (a refresh-token family) and rotates the refresh token
+ * on every use. Only the latest token of a family is accepted; an older one coming back means it was copied,
+ * so the family is revoked and every token issued from it, access tokens included, stops working.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final String INVALID_SESSION = "Oturum geçersiz. Lütfen tekrar giriş yapın.";
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final TokenRevocations tokenRevocations;
+    private final UserCache userCache;
+    private final ModelMapper modelMapper;
+
+    @Transactional
+    public AuthResponse startSession(User user) {
+        RefreshTokenFamily family = RefreshTokenFamily.builder()
+                .familyId(UUID.randomUUID().toString())
+                .user(user)
+                .currentTokenId(UUID.randomUUID().toString())
+                .expiresAt(LocalDateTime.now().plus(jwtService.getRefreshExpiration()))
+                .build();
+        familyRepository.save(family);
+        return issue(user, family.getFamilyId(), family.getCurrentTokenId());
+    }
+
+    /**
+     * Revokes every open session of the user and starts a new one, e.g. after a password change.
+     */
+    @Transactional
+    public AuthResponse replaceSessions(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> open = familyRepository.findOpenByUserId(user.getId(), now);
+        familyRepository.revokeAllByUserId(user.getId(), now);
+        AfterCommit.run(() -> open.forEach(row -> tokenRevocations.revoke((String) row[0], (LocalDateTime) row[1])));
+        return startSession(user);
+    }
+
+    // The revocation on reuse must commit even though the request fails
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public AuthResponse refresh(String refreshToken) {
+        VerifiedToken token = parse(refreshToken);
+        String familyId = (String) token.claims().get(JwtService.CLAIM_FAMILY);
+        String tokenId = (String) token.claims().get(Claims.ID);
+        AuthenticatedUser principal = AuthenticatedUser.of(token);
+        if (tokenRevocations.isRevoked(familyId) || !userCache.isCurrent(principal)) {
+            throw new UnauthorizedException(INVALID_SESSION);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(jwtService.getRefreshExpiration());
+        String nextTokenId = UUID.randomUUID().toString();
+        if (familyRepository.rotate(familyId, tokenId, nextTokenId, expiresAt, now) == 0) {
+            // Already rotated out, revoked or expired; the first two revoke the family (again, harmlessly)
+            if (familyRepository.revoke(familyId, now) > 0) {
+                log.warn("Refresh token reuse detected for {}, revoking session {}", principal.getUsername(), familyId);
+            }
+            AfterCommit.run(() -> tokenRevocations.revoke(familyId, expiresAt));
+            throw new UnauthorizedException(INVALID_SESSION);
+        }
+        return issue(userRepository.getReferenceById(principal.id()), familyId, nextTokenId);
+    }
+
+    /**
+     * Ends the session of the given refresh token. Tokens that are already invalid have nothing left to end.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        VerifiedToken token;
+        try {
+            token = parse(refreshToken);
+        } catch (UnauthorizedException e) {
+            return;
+        }
+        String familyId = (String) token.claims().get(JwtService.CLAIM_FAMILY);
+        LocalDateTime now = LocalDateTime.now();
+        familyRepository.revoke(familyId, now);
+        LocalDateTime expiresAt = now.plus(jwtService.getRefreshExpiration());
+        AfterCommit.run(() -> tokenRevocations.revoke(familyId, expiresAt));
+    }
+
+    private VerifiedToken parse(String refreshToken) {
+        VerifiedToken token;
+        try {
+            token = jwtService.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException(INVALID_SESSION);
+        }
+        if (!JwtService.TYPE_REFRESH.equals(token.claims().get(JwtService.CLAIM_TYPE))
+                || !(token.claims().get(JwtService.CLAIM_FAMILY) instanceof String)
+                || !(token.claims().get(Claims.ID) instanceof String)
+                || !token.claims().containsKey(JwtService.CLAIM_USER_ID)) {
+            throw new UnauthorizedException(INVALID_SESSION);
+        }
+        return token;
+    }
+
+    private AuthResponse issue(User user, String familyId, String tokenId) {
+        return AuthResponse.builder()
+                .token(jwtService.generateToken(Map.of(JwtService.CLAIM_FAMILY, familyId), user))
+                .refreshToken(jwtService.generateRefreshToken(user, familyId, tokenId))
+                .user(modelMapper.map(user, UserDTO.class))
+                .build();
+    }
+}
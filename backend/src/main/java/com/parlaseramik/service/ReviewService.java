@@ -1,21 +1,38 @@
 package com.parlaseramik.service;
 
 import com.parlaseramik.dto.AdminReplyRequest;
+import com.parlaseramik.dto.BulkReviewRequest;
+import com.parlaseramik.dto.BulkReviewResultDTO;
 import com.parlaseramik.dto.CreateReviewRequest;
+import com.parlaseramik.dto.CursorPage;
+import com.parlaseramik.dto.PageCursor;
+import com.parlaseramik.dto.RatingSummaryDTO;
 import com.parlaseramik.dto.ReviewDTO;
 import com.parlaseramik.entity.Product;
 import com.parlaseramik.entity.Review;
-import com.parlaseramik.entity.User;
+import com.parlaseramik.event.DomainEventPublisher;
+import com.parlaseramik.event.ProductChangedEvent;
+import com.parlaseramik.event.ReviewApprovedEvent;
+import com.parlaseramik.exception.BadRequestException;
 import com.parlaseramik.exception.ResourceNotFoundException;
 import com.parlaseramik.repository.ProductRepository;
 import com.parlaseramik.repository.ReviewRepository;
+import com.parlaseramik.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,10 +41,21 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
-
-    public List<ReviewDTO> getApprovedReviewsByProduct(Long productId) {
-        return reviewRepository.findByProductIdAndApprovedTrueOrderByCreatedAtDesc(productId)
-                .stream().map(this::convertToDTO).collect(Collectors.toList());
+    private final UserRepository userRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CacheManager cacheManager;
+
+    private static final String PRODUCT_REVIEWS_CACHE = "productReviews";
+    // The first pages at the default size are cached per product
+    public static final int CACHED_PAGES = 3;
+    public static final int DEFAULT_PAGE_SIZE = 10;
+
+    @Cacheable(value = PRODUCT_REVIEWS_CACHE, key = "#productId + ':' + #page",
+            condition = "#page < T(com.parlaseramik.service.ReviewService).CACHED_PAGES"
+                    + " && #size == T(com.parlaseramik.service.ReviewService).DEFAULT_PAGE_SIZE")
+    public Page<ReviewDTO> getProductReviews(Long productId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        return reviewRepository.findByProductIdAndApprovedTrue(productId, pageable).map(this::convertToDTO);
     }
 
     public List<ReviewDTO> getUserReviews(Long userId) {
@@ -39,18 +67,32 @@ public class ReviewService {
         return reviewRepository.findAllByOrderByCreatedAtDesc(pageable).map(this::convertToDTO);
     }
 
+    public CursorPage<ReviewDTO> scrollReviews(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Review> rows = after == null
+                ? reviewRepository.scrollAll(limit)
+                : reviewRepository.scrollAllAfter(after.createdAt(), after.id(), limit);
+        CursorPage<Review> page = CursorPage.of(rows, size, review -> new PageCursor(review.getCreatedAt(), review.getId()));
+        return new CursorPage<>(
+                page.getContent().stream().map(this::convertToDTO).collect(Collectors.toList()),
+                page.getNextCursor(),
+                page.isHasNext()
+        );
+    }
+
     public Page<ReviewDTO> getPendingReviews(Pageable pageable) {
         return reviewRepository.findByApprovedFalseOrderByCreatedAtDesc(pageable).map(this::convertToDTO);
     }
 
     @Transactional
-    public ReviewDTO createReview(CreateReviewRequest request, User user) {
+    public ReviewDTO createReview(CreateReviewRequest request, Long userId) {
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Ürün bulunamadı"));
 
         Review review = Review.builder()
                 .product(product)
-                .user(user)
+                .user(userRepository.getReferenceById(userId))
                 .rating(request.getRating())
                 .comment(request.getComment())
                 .approved(false)
@@ -64,13 +106,16 @@ public class ReviewService {
     public ReviewDTO approveReview(Long id) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Yorum bulunamadı"));
-        review.setApproved(true);
-        Review savedReview = reviewRepository.save(review);
-
-        // Update product average rating
-        updateProductRating(review.getProduct().getId());
-
-        return convertToDTO(savedReview);
+        ReviewDTO dto = convertToDTO(review);
+        dto.setApproved(true);
+
+        // Only the request that actually flips the flag counts the rating
+        if (reviewRepository.markApproved(id, LocalDateTime.now()) == 1) {
+            applyRating(review.getProduct().getId(), review.getRating(), 1);
+            evictProductReviews(review.getProduct().getId());
+            domainEventPublisher.publish(new ReviewApprovedEvent(id, review.getProduct().getId()));
+        }
+        return dto;
     }
 
     @Transactional
@@ -78,7 +123,11 @@ public class ReviewService {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Yorum bulunamadı"));
         review.setAdminReply(request.getAdminReply());
-        return convertToDTO(reviewRepository.save(review));
+        Review savedReview = reviewRepository.save(review);
+        if (Boolean.TRUE.equals(savedReview.getApproved())) {
+            evictProductReviews(savedReview.getProduct().getId());
+        }
+        return convertToDTO(savedReview);
     }
 
     @Transactional
@@ -86,27 +135,78 @@ public class ReviewService {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Yorum bulunamadı"));
         Long productId = review.getProduct().getId();
+        boolean approved = Boolean.TRUE.equals(review.getApproved());
         reviewRepository.delete(review);
-        updateProductRating(productId);
+        if (approved) {
+            applyRating(productId, review.getRating(), -1);
+            evictProductReviews(productId);
+        }
     }
 
-    private void updateProductRating(Long productId) {
+    /**
+     * Approves, deletes or replies to many reviews in one transaction with one set-based statement, then rebuilds the
+     * rating aggregates of every affected product once for the whole batch.
+     */
+    @Transactional
+    public BulkReviewResultDTO moderateReviews(BulkReviewRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ratedProductIds;
+        List<Long> evictedProductIds;
+        int affected;
+
+        switch (request.getAction()) {
+            case APPROVE -> {
+                List<Object[]> pending = reviewRepository.findPendingIdsAndProductIds(ids);
+                ratedProductIds = pending.stream().map(row -> (Long) row[1]).distinct().toList();
+                evictedProductIds = ratedProductIds;
+                affected = reviewRepository.markApproved(ids, now);
+                pending.forEach(row -> domainEventPublisher.publish(new ReviewApprovedEvent((Long) row[0], (Long) row[1])));
+            }
+            case DELETE -> {
+                ratedProductIds = reviewRepository.findProductIdsByIdInAndApproved(ids, true);
+                evictedProductIds = ratedProductIds;
+                affected = reviewRepository.deleteAllByIdIn(ids);
+            }
+            case REPLY -> {
+                if (request.getAdminReply() == null || request.getAdminReply().isBlank()) {
+                    throw new BadRequestException("Cevap boş olamaz");
+                }
+                ratedProductIds = List.of();
+                evictedProductIds = reviewRepository.findProductIdsByIdInAndApproved(ids, true);
+                affected = reviewRepository.replyAll(ids, request.getAdminReply(), now);
+            }
+            default -> throw new BadRequestException("Geçersiz işlem: " + request.getAction());
+        }
+
+        if (!ratedProductIds.isEmpty()) {
+            productRepository.recomputeRatings(ratedProductIds, now);
+            ratedProductIds.forEach(productId -> domainEventPublisher.publish(new ProductChangedEvent(productId)));
+        }
+        evictedProductIds.forEach(this::evictProductReviews);
+        return new BulkReviewResultDTO(request.getAction(), ids.size(), affected, ratedProductIds.size());
+    }
+
+    public RatingSummaryDTO getRatingSummary(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ürün bulunamadı"));
+        return RatingSummaryDTO.of(product);
+    }
 
-        List<Review> approvedReviews = reviewRepository.findByProductIdAndApprovedTrueOrderByCreatedAtDesc(productId);
-        if (approvedReviews.isEmpty()) {
-            product.setAverageRating(0.0);
-            product.setReviewCount(0);
-        } else {
-            double avgRating = approvedReviews.stream()
-                    .mapToInt(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            product.setAverageRating(avgRating);
-            product.setReviewCount(approvedReviews.size());
+    // The cache is transaction aware, so these evictions happen after commit
+    private void evictProductReviews(Long productId) {
+        Cache cache = cacheManager.getCache(PRODUCT_REVIEWS_CACHE);
+        if (cache != null) {
+            for (int page = 0; page < CACHED_PAGES; page++) {
+                cache.evict(productId + ":" + page);
+            }
         }
-        productRepository.save(product);
+    }
+
+    // O(1) in the number of reviews: one UPDATE on the product row, which also serializes concurrent moderation
+    private void applyRating(Long productId, int rating, int delta) {
+        productRepository.applyRating(productId, rating, delta, LocalDateTime.now());
+        domainEventPublisher.publish(new ProductChangedEvent(productId));
     }
 
     private ReviewDTO convertToDTO(Review review) {
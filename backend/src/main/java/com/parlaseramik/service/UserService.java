@@ -1,5 +1,6 @@
 package com.parlaseramik.service;
 
+import com.parlaseramik.dto.AuthResponse;
 import com.parlaseramik.dto.ChangePasswordRequest;
 import com.parlaseramik.dto.UpdateProfileRequest;
 import com.parlaseramik.dto.UserDTO;
@@ -7,6 +8,7 @@ import com.parlaseramik.entity.User;
 import com.parlaseramik.exception.BadRequestException;
 import com.parlaseramik.exception.ResourceNotFoundException;
 import com.parlaseramik.repository.UserRepository;
+import com.parlaseramik.security.UserCache;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +22,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
 
     public UserDTO getUserProfile(Long userId) {
         User user = userRepository.findById(userId)
@@ -37,11 +41,12 @@ public class UserService {
         user.setPhone(request.getPhone());
         
         User updatedUser = userRepository.save(user);
+        userCache.invalidate(userId);
         return modelMapper.map(updatedUser, UserDTO.class);
     }
 
     @Transactional
-    public void changePassword(Long userId, ChangePasswordRequest request) {
+    public AuthResponse changePassword(Long userId, ChangePasswordRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Kullanıcı bulunamadı"));
         
@@ -50,6 +55,10 @@ public class UserService {
         }
         
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setCredentialsVersion(user.getCredentialsVersion() + 1);
         userRepository.save(user);
+        userCache.invalidate(userId);
+        // The version bump ends every session, so the caller gets a new one
+        return refreshTokenService.replaceSessions(user);
     }
 }
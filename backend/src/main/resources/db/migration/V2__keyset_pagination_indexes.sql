@@ -0,0 +1,7 @@
+-- Composite indexes for keyset (cursor) pagination on (created_at, id)
+-- Hibernate creates these on startup (ddl-auto: update); on large tables run this first
+-- so they are built without blocking writes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_active_created_id ON products (active, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_active_created_id ON products (category_id, active, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_id ON orders (created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_created_id ON reviews (created_at, id);
@@ -0,0 +1,33 @@
+-- Running rating aggregates on products (sum, count, 1-5 star histogram) over approved reviews
+-- Hibernate adds the columns on startup (ddl-auto: update); run this once to backfill existing reviews
+ALTER TABLE products ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS one_star_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS two_star_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS three_star_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS four_star_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS five_star_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE products p SET
+    rating_sum = COALESCE(r.rating_sum, 0),
+    review_count = COALESCE(r.review_count, 0),
+    one_star_count = COALESCE(r.one_star_count, 0),
+    two_star_count = COALESCE(r.two_star_count, 0),
+    three_star_count = COALESCE(r.three_star_count, 0),
+    four_star_count = COALESCE(r.four_star_count, 0),
+    five_star_count = COALESCE(r.five_star_count, 0),
+    average_rating = COALESCE(r.rating_sum::float8 / NULLIF(r.review_count, 0), 0.0)
+FROM products p2
+LEFT JOIN (
+    SELECT product_id,
+           SUM(rating) AS rating_sum,
+           COUNT(*) AS review_count,
+           COUNT(*) FILTER (WHERE rating = 1) AS one_star_count,
+           COUNT(*) FILTER (WHERE rating = 2) AS two_star_count,
+           COUNT(*) FILTER (WHERE rating = 3) AS three_star_count,
+           COUNT(*) FILTER (WHERE rating = 4) AS four_star_count,
+           COUNT(*) FILTER (WHERE rating = 5) AS five_star_count
+    FROM reviews
+    WHERE approved = true
+    GROUP BY product_id
+) r ON r.product_id = p2.id
+WHERE p.id = p2.id;
@@ -0,0 +1,4 @@
+-- Orders confirmed through in-memory inventory reservations are stored with stock_applied = false
+-- until the write-behind flush subtracts their quantities from products.stock
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS stock_applied BOOLEAN NOT NULL DEFAULT TRUE;
+CREATE INDEX IF NOT EXISTS idx_orders_stock_pending ON orders (id) WHERE stock_applied = false;
@@ -0,0 +1,18 @@
+-- Ids now come from one pooled sequence per table (increment 50) instead of identity columns,
+-- so Hibernate can batch inserts. Run this before deploying: Hibernate would otherwise create the
+-- sequences starting at 1, below the existing ids. Each sequence is moved one block past the current max.
+CREATE SEQUENCE IF NOT EXISTS addresses_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reviews_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+
+SELECT setval('addresses_seq', COALESCE(MAX(id), 0) + 50, false) FROM addresses;
+SELECT setval('categories_seq', COALESCE(MAX(id), 0) + 50, false) FROM categories;
+SELECT setval('order_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM order_items;
+SELECT setval('orders_seq', COALESCE(MAX(id), 0) + 50, false) FROM orders;
+SELECT setval('products_seq', COALESCE(MAX(id), 0) + 50, false) FROM products;
+SELECT setval('reviews_seq', COALESCE(MAX(id), 0) + 50, false) FROM reviews;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
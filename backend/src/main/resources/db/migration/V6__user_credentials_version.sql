@@ -0,0 +1,3 @@
+-- Access tokens carry the credentials version they were issued for; bumping it on a password or role
+-- change makes every earlier token stale
+ALTER TABLE users ADD COLUMN IF NOT EXISTS credentials_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- One row per login session; refresh tokens rotate within it and revoking it ends the session everywhere
+CREATE SEQUENCE IF NOT EXISTS refresh_token_families_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS refresh_token_families (
+    id BIGINT PRIMARY KEY,
+    family_id VARCHAR(36) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL REFERENCES users (id),
+    current_token_id VARCHAR(36) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_families_revoked_at ON refresh_token_families (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_families_expires_at ON refresh_token_families (expires_at);
@@ -0,0 +1,14 @@
+-- Full-text and trigram search support for products (application.search.backend: postgres)
+-- Applied on startup by PostgresProductSearchBackend; every statement is idempotent
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('turkish', coalesce(name_tr, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(name_en, '')), 'A') ||
+    setweight(to_tsvector('turkish', coalesce(description_tr, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description_en, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_products_name_tr_trgm ON products USING GIN (lower(name_tr) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_products_name_en_trgm ON products USING GIN (lower(name_en) gin_trgm_ops);
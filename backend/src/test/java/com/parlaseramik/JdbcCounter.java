@@ -0,0 +1,111 @@
+package com.parlaseramik;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Counts the JDBC work done on the calling thread by wrapping the application's DataSource, so Hibernate
+ * and plain JdbcTemplate statements are both seen. Per thread, so indexing and snapshot rebuilds running
+ * in the background do not show up in a test's counts.
+ * <p>
+ * A round trip is anything that waits for the database: executing a statement or a batch, and commit or
+ * rollback. Preparing a statement does not count as one.
+ */
+public class JdbcCounter implements BeanPostProcessor {
+
+    private static final Set<String> PREPARE = Set.of("prepareStatement", "prepareCall", "createStatement");
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+    private static final Set<String> COMPLETE = Set.of("commit", "rollback");
+
+    private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+    public static void reset() {
+        COUNTS.set(new Counts());
+    }
+
+    // Statements prepared on this thread since the last reset; a batch is prepared once
+    public static long statements() {
+        return COUNTS.get().statements;
+    }
+
+    public static long batches() {
+        return COUNTS.get().batches;
+    }
+
+    public static long roundTrips() {
+        return COUNTS.get().roundTrips;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password), Connection.class);
+        }
+    }
+
+    private static <T> T wrap(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            Counts counts = COUNTS.get();
+            if (PREPARE.contains(name)) {
+                counts.statements++;
+            } else if (EXECUTE.contains(name) || COMPLETE.contains(name)) {
+                counts.roundTrips++;
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                counts.batches++;
+                counts.roundTrips++;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Statements are wrapped with the interface the caller asked for (Statement, PreparedStatement, ...)
+            if (result instanceof Statement statement && method.getReturnType().isInterface()
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrap(statement, statementType(method.getReturnType()));
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(JdbcCounter.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Statement> statementType(Class<?> type) {
+        return (Class<Statement>) type;
+    }
+
+    private static final class Counts {
+        private long statements;
+        private long batches;
+        private long roundTrips;
+    }
+}
@@ -0,0 +1,29 @@
+package com.parlaseramik;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests that need the real database (locking, batching, query counts). One container is
+ * shared by every subclass so the Spring context is cached across test classes; tests are skipped
+ * when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.enabled=false",
+        "spring.jpa.show-sql=false",
+        "application.security.revocation.sync-interval=1h"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Import(JdbcCounter.class)
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+}
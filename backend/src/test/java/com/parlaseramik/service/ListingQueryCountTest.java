@@ -0,0 +1,154 @@
+package com.parlaseramik.service;
+
+import com.parlaseramik.JdbcCounter;
+import com.parlaseramik.PostgresIntegrationTest;
+import com.parlaseramik.dto.ProductDTO;
+import com.parlaseramik.dto.ProductSummaryDTO;
+import com.parlaseramik.dto.ReviewDTO;
+import com.parlaseramik.entity.Category;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.entity.Review;
+import com.parlaseramik.entity.User;
+import com.parlaseramik.repository.CategoryRepository;
+import com.parlaseramik.repository.ProductRepository;
+import com.parlaseramik.repository.ReviewRepository;
+import com.parlaseramik.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the list endpoints against N+1 regressions: a page costs a fixed number of statements
+ * no matter how many rows it holds.
+ */
+class ListingQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int PRODUCTS = 15;
+    private static final int REVIEWS = 25;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Long reviewedProductId;
+
+    @BeforeEach
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String suffix = UUID.randomUUID().toString();
+        Category category = categoryRepository.save(Category.builder().nameTr("Kupa " + suffix).nameEn("Mug " + suffix).build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .nameTr("Kupa " + i)
+                    .nameEn("Mug " + i)
+                    .price(BigDecimal.valueOf(100 + i))
+                    .stock(10)
+                    .category(category)
+                    .images(new ArrayList<>(List.of("/img/" + i + "-a.jpg", "/img/" + i + "-b.jpg")))
+                    .build());
+        }
+        products = productRepository.saveAll(products);
+        reviewedProductId = products.get(0).getId();
+
+        User user = userRepository.save(User.builder()
+                .firstName("Ayşe")
+                .lastName("Yılmaz")
+                .email(suffix + "@example.com")
+                .password("x")
+                .role(User.Role.USER)
+                .enabled(true)
+                .build());
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews.add(Review.builder()
+                    .product(products.get(i < 20 ? 0 : i % PRODUCTS))
+                    .user(user)
+                    .rating(1 + i % 5)
+                    .comment("Yorum " + i)
+                    .approved(true)
+                    .build());
+        }
+        reviewRepository.saveAll(reviews);
+    }
+
+    @Test
+    void adminProductPageLoadsCategoriesAndImagesWithoutPerRowQueries() {
+        Page<ProductDTO> page = count(() -> productService.getAllProductsIncludingInactive(PageRequest.of(0, 12)));
+
+        assertThat(page.getContent()).hasSize(12).allSatisfy(product -> assertThat(product.getImages()).isNotEmpty());
+        // page + images batch + count
+        assertThat(JdbcCounter.statements()).isEqualTo(3);
+    }
+
+    @Test
+    void storefrontSummaryPageAttachesImagesInOneQuery() {
+        Page<ProductSummaryDTO> page = count(() -> {
+            Page<ProductSummaryDTO> summaries = productRepository.findActiveSummaries(
+                    PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "createdAt")));
+            productRepository.attachFirstImages(summaries.getContent());
+            return summaries;
+        });
+
+        assertThat(page.getContent()).hasSize(12).allSatisfy(summary -> assertThat(summary.getImage()).isNotNull());
+        // page + count + first images
+        assertThat(JdbcCounter.statements()).isEqualTo(3);
+    }
+
+    @Test
+    void adminReviewPageFetchesProductAndUserWithTheReviews() {
+        Page<ReviewDTO> page = count(() -> reviewService.getAllReviews(PageRequest.of(0, 20)));
+
+        assertThat(page.getContent()).hasSize(20).allSatisfy(review -> {
+            assertThat(review.getProductName()).isNotNull();
+            assertThat(review.getUserName()).isEqualTo("Ayşe Yılmaz");
+        });
+        // page + count
+        assertThat(JdbcCounter.statements()).isEqualTo(2);
+    }
+
+    @Test
+    void productReviewPageFetchesProductAndUserWithTheReviews() {
+        // Not the cached default size, so the page is read from the database
+        Page<ReviewDTO> page = count(() -> reviewService.getProductReviews(reviewedProductId, 0, 15));
+
+        assertThat(page.getContent()).hasSize(15);
+        assertThat(page.getTotalElements()).isEqualTo(20);
+        assertThat(JdbcCounter.statements()).isEqualTo(2);
+    }
+
+    // Runs the call in a read-only transaction, like open-in-view does for a request
+    private <T> T count(Supplier<T> call) {
+        return readOnly.execute(status -> {
+            JdbcCounter.reset();
+            return call.get();
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.parlaseramik.service;
+
+import com.parlaseramik.PostgresIntegrationTest;
+import com.parlaseramik.dto.AddressDTO;
+import com.parlaseramik.dto.CreateOrderRequest;
+import com.parlaseramik.entity.Address;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.entity.User;
+import com.parlaseramik.exception.BadRequestException;
+import com.parlaseramik.repository.AddressRepository;
+import com.parlaseramik.repository.ProductRepository;
+import com.parlaseramik.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many buyers racing for the last few units: exactly the available stock is sold and the rest are
+ * refused, never overselling. There are many more buyers than pooled connections, so checkouts also
+ * queue for a connection while others hold theirs.
+ */
+class OrderConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int STOCK = 5;
+    private static final int BUYERS = 200;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AddressRepository addressRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelOrdersNeverSellMoreThanTheStock() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .nameTr("Son Kupa")
+                .nameEn("Last Mug")
+                .price(new BigDecimal("250"))
+                .stock(STOCK)
+                .build());
+        User buyer = userRepository.save(User.builder()
+                .firstName("Ali")
+                .lastName("Demir")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("x")
+                .role(User.Role.USER)
+                .enabled(true)
+                .build());
+        Address address = addressRepository.save(Address.builder()
+                .user(buyer)
+                .title("Ev")
+                .fullName("Ali Demir")
+                .phone("5550000000")
+                .addressLine1("Çarşı Sk. 1")
+                .city("İzmir")
+                .state("Konak")
+                .postalCode("35000")
+                .country("Türkiye")
+                .isDefault(true)
+                .build());
+
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            for (int i = 0; i < BUYERS; i++) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(orderFor(product.getId(), address.getId()), buyer.getId());
+                        return true;
+                    } catch (BadRequestException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int placed = 0;
+            for (Future<Boolean> attempt : attempts) {
+                if (attempt.get(60, TimeUnit.SECONDS)) {
+                    placed++;
+                }
+            }
+
+            assertThat(placed).isEqualTo(STOCK);
+            assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+            Integer sold = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(quantity), 0) FROM order_items WHERE product_id = ?", Integer.class, product.getId());
+            assertThat(sold).isEqualTo(STOCK);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Ships to a saved address of the buyer
+    private static CreateOrderRequest orderFor(Long productId, Long addressId) {
+        CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        AddressDTO address = new AddressDTO();
+        address.setId(addressId);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(List.of(item));
+        request.setShippingAddress(address);
+        return request;
+    }
+}
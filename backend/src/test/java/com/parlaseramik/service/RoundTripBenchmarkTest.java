@@ -0,0 +1,162 @@
+package com.parlaseramik.service;
+
+import com.parlaseramik.JdbcCounter;
+import com.parlaseramik.ParlaSeramikApplication;
+import com.parlaseramik.PostgresIntegrationTest;
+import com.parlaseramik.dto.AddressDTO;
+import com.parlaseramik.dto.CreateOrderRequest;
+import com.parlaseramik.entity.Address;
+import com.parlaseramik.entity.Product;
+import com.parlaseramik.entity.User;
+import com.parlaseramik.repository.AddressRepository;
+import com.parlaseramik.repository.ProductRepository;
+import com.parlaseramik.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Database round trips for placing an order and for a bulk product import, with pooled sequence ids and
+ * against the IDENTITY baseline they replaced. The baseline runs in a second application context that
+ * maps {@code BaseEntity.id} back to IDENTITY and keeps its tables in a schema of its own.
+ * Round trips include commits and the JdbcTemplate stock batch; the results are printed as a table.
+ */
+class RoundTripBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ITEMS = 12;
+    private static final int IMPORTED_PRODUCTS = 50;
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Test
+    void pooledSequencesBatchWhatIdentityWroteRowByRow() {
+        Result sequence = measure(context);
+        Result identity;
+        try (ConfigurableApplicationContext baseline = identityContext()) {
+            identity = measure(baseline);
+        }
+
+        System.out.printf("%n%-26s %8s %15s%n", "Round trips", "IDENTITY", "pooled sequence");
+        System.out.printf("%-26s %8d %15d%n", "order, 1 item", identity.singleItemOrder(), sequence.singleItemOrder());
+        System.out.printf("%-26s %8d %15d%n", "order, " + ITEMS + " items", identity.order(), sequence.order());
+        System.out.printf("%-26s %8d %15d%n", "import, " + IMPORTED_PRODUCTS + " products x " + IMAGES_PER_PRODUCT,
+                identity.bulkImport(), sequence.bulkImport());
+
+        // Every order item used to be its own INSERT; now the items are one batch whatever their number
+        assertThat(identity.order()).isGreaterThanOrEqualTo(identity.singleItemOrder() + ITEMS - 1);
+        // A pooled sequence may fetch its next block during either order
+        assertThat(sequence.order()).isLessThanOrEqualTo(sequence.singleItemOrder() + 1);
+        assertThat(identity.bulkImport()).isGreaterThanOrEqualTo(IMPORTED_PRODUCTS);
+        assertThat(sequence.bulkImport()).isLessThan(10);
+    }
+
+    private ConfigurableApplicationContext identityContext() {
+        // Command-line arguments, so they win over application.yml
+        return new SpringApplicationBuilder(ParlaSeramikApplication.class, JdbcCounter.class).run(
+                "--server.port=0",
+                "--spring.data.redis.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--application.security.revocation.sync-interval=1h",
+                "--spring.datasource.url=" + connectionDetails.getJdbcUrl(),
+                "--spring.datasource.username=" + connectionDetails.getUsername(),
+                "--spring.datasource.password=" + connectionDetails.getPassword(),
+                "--spring.datasource.hikari.connection-init-sql="
+                        + "CREATE SCHEMA IF NOT EXISTS identity_ids; SET search_path TO identity_ids",
+                "--spring.jpa.mapping-resources=META-INF/identity-ids.xml");
+    }
+
+    private Result measure(ApplicationContext context) {
+        OrderService orderService = context.getBean(OrderService.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = productRepository.saveAll(products(ITEMS, 0));
+        User buyer = context.getBean(UserRepository.class).save(User.builder()
+                .firstName("Zeynep")
+                .lastName("Kaya")
+                .email(UUID.randomUUID() + "@example.com")
+                .password("x")
+                .role(User.Role.USER)
+                .enabled(true)
+                .build());
+        Address address = context.getBean(AddressRepository.class).save(Address.builder()
+                .user(buyer)
+                .title("Ev")
+                .fullName("Zeynep Kaya")
+                .phone("5550000000")
+                .addressLine1("Kordon 5")
+                .city("İzmir")
+                .state("Konak")
+                .postalCode("35000")
+                .country("Türkiye")
+                .isDefault(true)
+                .build());
+
+        // Warm up so the first sequence allocations are not counted
+        orderService.createOrder(order(products, 1, address), buyer.getId());
+
+        JdbcCounter.reset();
+        orderService.createOrder(order(products, 1, address), buyer.getId());
+        long single = JdbcCounter.roundTrips();
+
+        JdbcCounter.reset();
+        orderService.createOrder(order(products, ITEMS, address), buyer.getId());
+        long many = JdbcCounter.roundTrips();
+
+        List<Product> imported = products(IMPORTED_PRODUCTS, IMAGES_PER_PRODUCT);
+        JdbcCounter.reset();
+        productRepository.saveAll(imported);
+        long bulkImport = JdbcCounter.roundTrips();
+
+        return new Result(single, many, bulkImport);
+    }
+
+    private static List<Product> products(int count, int images) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> urls = new ArrayList<>();
+            for (int j = 0; j < images; j++) {
+                urls.add("/img/" + i + "-" + j + ".jpg");
+            }
+            products.add(Product.builder()
+                    .nameTr("Tabak " + i)
+                    .nameEn("Plate " + i)
+                    .price(BigDecimal.valueOf(100 + i))
+                    .stock(100)
+                    .images(urls)
+                    .build());
+        }
+        return products;
+    }
+
+    private static CreateOrderRequest order(List<Product> products, int itemCount, Address address) {
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (Product product : products.subList(0, itemCount)) {
+            CreateOrderRequest.OrderItemRequest item = new CreateOrderRequest.OrderItemRequest();
+            item.setProductId(product.getId());
+            item.setQuantity(1);
+            items.add(item);
+        }
+        AddressDTO shippingAddress = new AddressDTO();
+        shippingAddress.setId(address.getId());
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(items);
+        request.setShippingAddress(shippingAddress);
+        return request;
+    }
+
+    private record Result(long singleItemOrder, long order, long bulkImport) {
+    }
+}
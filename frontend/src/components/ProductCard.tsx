@@ -1,11 +1,11 @@
 import { Link } from 'react-router-dom';
 import { Star, ExternalLink } from 'lucide-react';
-import { Product } from '@/types';
+import { ProductSummary } from '@/types';
 import { useTranslation } from 'react-i18next';
 import { formatPrice, getProductName } from '@/utils/helpers';
 
 interface ProductCardProps {
-    product: Product;
+    product: ProductSummary;
 }
 
 export const ProductCard = ({ product }: ProductCardProps) => {
@@ -17,9 +17,9 @@ export const ProductCard = ({ product }: ProductCardProps) => {
             className="group bg-white rounded-lg shadow-md overflow-hidden hover:shadow-xl transition-shadow duration-300"
         >
             <div className="relative h-64 overflow-hidden bg-gray-200">
-                {product.images && product.images.length > 0 ? (
+                {product.image ? (
                     <img
-                        src={product.images[0]}
+                        src={product.image}
                         alt={getProductName(product, i18n.language)}
                         className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-300"
                     />
@@ -4,7 +4,7 @@ import { useTranslation } from 'react-i18next';
 import { Package, Sparkles, Truck, HeadphonesIcon } from 'lucide-react';
 import { ProductCard } from '@/components/ProductCard';
 import { productService } from '@/services/productService';
-import { Product } from '@/types';
+import { ProductSummary } from '@/types';
 
 interface Particle {
     id: number;
@@ -18,7 +18,7 @@ interface Particle {
 
 export const Home = () => {
     const { t } = useTranslation();
-    const [featuredProducts, setFeaturedProducts] = useState<Product[]>([]);
+    const [featuredProducts, setFeaturedProducts] = useState<ProductSummary[]>([]);
     const [loading, setLoading] = useState(true);
     const [mousePos, setMousePos] = useState({ x: 0, y: 0 });
     const [particles] = useState<Particle[]>(() =>
@@ -27,7 +27,7 @@ export const Login = () => {
                 return;
             }
 
-            setAuth(response.user, response.token);
+            setAuth(response.user, response.token, response.refreshToken);
             toast.success('Giriş başarılı');
             navigate('/panel');
         } catch (error: any) {
@@ -4,14 +4,15 @@ import { Search } from 'lucide-react';
 import { ProductCard } from '@/components/ProductCard';
 import { productService } from '@/services/productService';
 import { categoryService } from '@/services/categoryService';
-import { Product, Category } from '@/types';
+import { ProductSummary, Category, Suggestion } from '@/types';
 
 export const Products = () => {
     const { t, i18n } = useTranslation();
-    const [products, setProducts] = useState<Product[]>([]);
+    const [products, setProducts] = useState<ProductSummary[]>([]);
     const [categories, setCategories] = useState<Category[]>([]);
     const [loading, setLoading] = useState(true);
     const [searchTerm, setSearchTerm] = useState('');
+    const [suggestions, setSuggestions] = useState<Suggestion[]>([]);
     const [selectedCategory, setSelectedCategory] = useState<number | null>(null);
     const [sortBy, setSortBy] = useState('createdAt');
     const [sortDir, setSortDir] = useState('DESC');
@@ -25,6 +26,21 @@ export const Products = () => {
         loadProducts();
     }, [selectedCategory, sortBy, sortDir]);
 
+    useEffect(() => {
+        if (!searchTerm.trim()) {
+            setSuggestions([]);
+            return;
+        }
+        const timer = setTimeout(async () => {
+            try {
+                setSuggestions(await productService.suggest(searchTerm));
+            } catch (error) {
+                setSuggestions([]);
+            }
+        }, 150);
+        return () => clearTimeout(timer);
+    }, [searchTerm]);
+
     const loadCategories = async () => {
         try {
             const data = await categoryService.getAll();
@@ -88,10 +104,16 @@ export const Products = () => {
                             type="text"
                             placeholder={t('products.search')}
                             value={searchTerm}
+                            list="product-suggestions"
                             onChange={(e) => setSearchTerm(e.target.value)}
                             onKeyPress={(e) => e.key === 'Enter' && handleSearch()}
                             className="w-full px-4 py-2 pl-10 border border-gray-300 rounded-lg focus:ring-2 focus:ring-primary focus:border-transparent"
                         />
+                        <datalist id="product-suggestions">
+                            {suggestions.map((suggestion) => (
+                                <option key={`${suggestion.type}-${suggestion.id}-${suggestion.text}`} value={suggestion.text} />
+                            ))}
+                        </datalist>
                         <Search className="absolute left-3 top-3 w-5 h-5 text-gray-400" />
                     </div>
 
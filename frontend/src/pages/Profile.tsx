@@ -68,10 +68,11 @@ export const Profile = () => {
         }
         setLoading(true);
         try {
-            await authService.changePassword({
+            const response = await authService.changePassword({
                 currentPassword: passwordForm.currentPassword,
                 newPassword: passwordForm.newPassword,
             });
+            setAuth(response.user, response.token, response.refreshToken);
             toast.success('Şifre değiştirildi');
             setPasswordForm({ currentPassword: '', newPassword: '', confirmPassword: '' });
         } catch (error: any) {
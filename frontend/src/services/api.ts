@@ -1,5 +1,6 @@
 import axios from 'axios';
 import toast from 'react-hot-toast';
+import { AuthResponse } from '@/types';
 
 // Production'da Render backend URL'i, development'ta proxy kullan
 const API_BASE_URL = import.meta.env.VITE_API_URL || '/api';
@@ -24,12 +25,46 @@ api.interceptors.request.use(
     }
 );
 
+// Concurrent 401s share one refresh; the refresh token rotates on every use, so it must only be spent once
+let refreshing: Promise<string> | null = null;
+
+const refreshAccessToken = (refreshToken: string): Promise<string> => {
+    if (!refreshing) {
+        refreshing = axios
+            .post<AuthResponse>(`${API_BASE_URL}/auth/refresh`, { refreshToken })
+            .then(({ data }) => {
+                localStorage.setItem('token', data.token);
+                localStorage.setItem('refreshToken', data.refreshToken);
+                localStorage.setItem('user', JSON.stringify(data.user));
+                return data.token;
+            })
+            .finally(() => {
+                refreshing = null;
+            });
+    }
+    return refreshing;
+};
+
 api.interceptors.response.use(
     (response) => response,
-    (error) => {
+    async (error) => {
+        const original = error.config;
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (error.response?.status === 401 && refreshToken && original && !original._retry
+            && !original.url?.startsWith('/auth/')) {
+            original._retry = true;
+            try {
+                const token = await refreshAccessToken(refreshToken);
+                original.headers.Authorization = `Bearer ${token}`;
+                return api(original);
+            } catch {
+                // Falls through to signing out below
+            }
+        }
         if (error.response?.status === 401) {
             const errorMessage = error.response?.data?.message || 'Oturum süreniz dolmuş. Lütfen tekrar giriş yapın.';
             localStorage.removeItem('token');
+            localStorage.removeItem('refreshToken');
             localStorage.removeItem('user');
             toast.error(errorMessage);
             // Sadece login sayfasında değilsek yönlendir
@@ -12,9 +12,19 @@ export const authService = {
         return response.data;
     },
 
-    logout: () => {
+    refresh: async (refreshToken: string): Promise<AuthResponse> => {
+        const response = await api.post<AuthResponse>('/auth/refresh', { refreshToken });
+        return response.data;
+    },
+
+    // Ends the session on the server too, so its tokens stop working everywhere
+    logout: async (refreshToken?: string | null): Promise<void> => {
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
+        if (refreshToken) {
+            await api.post('/auth/logout', { refreshToken });
+        }
     },
 
     getProfile: async (): Promise<User> => {
@@ -27,7 +37,9 @@ export const authService = {
         return response.data;
     },
 
-    changePassword: async (data: { currentPassword: string; newPassword: string }): Promise<void> => {
-        await api.put('/users/password', data);
+    // Every other session ends; the response carries the tokens of a new one for this device
+    changePassword: async (data: { currentPassword: string; newPassword: string }): Promise<AuthResponse> => {
+        const response = await api.put<AuthResponse>('/users/password', data);
+        return response.data;
     },
 };
@@ -5,6 +5,13 @@ export interface CreateOrderRequest {
     items: { productId: number; quantity: number }[];
     shippingAddress: Address;
     notes?: string;
+    reservationId?: string;
+}
+
+export interface Reservation {
+    id: string;
+    items: Record<number, number>;
+    expiresAt: string;
 }
 
 export const orderService = {
@@ -38,8 +45,11 @@ export const orderService = {
         return response.data;
     },
 
-    create: async (data: CreateOrderRequest): Promise<Order> => {
-        const response = await api.post<Order>('/orders', data);
+    // Reuse the same key when retrying, so the server replays the first result instead of ordering twice
+    create: async (data: CreateOrderRequest, idempotencyKey: string = crypto.randomUUID()): Promise<Order> => {
+        const response = await api.post<Order>('/orders', data, {
+            headers: { 'Idempotency-Key': idempotencyKey },
+        });
         return response.data;
     },
 
@@ -47,4 +57,14 @@ export const orderService = {
         const response = await api.patch<Order>(`/orders/${id}/cancel`);
         return response.data;
     },
+
+    // Stock holds, when inventory reservations are enabled on the server
+    reserve: async (items: CreateOrderRequest['items']): Promise<Reservation> => {
+        const response = await api.post<Reservation>('/orders/reservations', { items });
+        return response.data;
+    },
+
+    cancelReservation: async (id: string): Promise<void> => {
+        await api.delete(`/orders/reservations/${id}`);
+    },
 };
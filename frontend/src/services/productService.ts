@@ -1,5 +1,5 @@
 import api from './api';
-import { Product } from '@/types';
+import { Product, ProductBrowseParams, ProductBrowseResult, ProductSummary, Suggestion } from '@/types';
 
 export const productService = {
     getAll: async (page = 0, size = 12, sortBy = 'createdAt', sortDir = 'DESC') => {
@@ -16,8 +16,16 @@ export const productService = {
         return response.data;
     },
 
-    getFeatured: async (): Promise<Product[]> => {
-        const response = await api.get<Product[]>('/products/featured');
+    browse: async (params: ProductBrowseParams): Promise<ProductBrowseResult> => {
+        const response = await api.get<ProductBrowseResult>('/products/browse', {
+            params,
+            paramsSerializer: { indexes: null },
+        });
+        return response.data;
+    },
+
+    getFeatured: async (): Promise<ProductSummary[]> => {
+        const response = await api.get<ProductSummary[]>('/products/featured');
         return response.data;
     },
 
@@ -33,6 +41,13 @@ export const productService = {
         return response.data;
     },
 
+    suggest: async (q: string, limit = 8): Promise<Suggestion[]> => {
+        const response = await api.get<Suggestion[]>('/products/suggest', {
+            params: { q, limit },
+        });
+        return response.data;
+    },
+
     search: async (keyword: string, page = 0, size = 12) => {
         const response = await api.get('/products/search', {
             params: { keyword, page, size },
@@ -1,5 +1,5 @@
 import api from './api';
-import { Review } from '@/types';
+import { Page, Review } from '@/types';
 
 export interface CreateReviewRequest {
     productId: number;
@@ -11,10 +11,25 @@ export interface AdminReplyRequest {
     adminReply: string;
 }
 
+export interface BulkReviewRequest {
+    action: 'APPROVE' | 'DELETE' | 'REPLY';
+    ids: number[];
+    adminReply?: string;
+}
+
+export interface BulkReviewResult {
+    action: BulkReviewRequest['action'];
+    requested: number;
+    affected: number;
+    productsUpdated: number;
+}
+
 export const reviewService = {
     // Public endpoints
-    getByProduct: async (productId: number): Promise<Review[]> => {
-        const response = await api.get<Review[]>(`/reviews/product/${productId}`);
+    getByProduct: async (productId: number, page = 0, size = 10): Promise<Page<Review>> => {
+        const response = await api.get<Page<Review>>(`/reviews/product/${productId}`, {
+            params: { page, size },
+        });
         return response.data;
     },
 
@@ -53,4 +68,9 @@ export const reviewService = {
     delete: async (id: number): Promise<void> => {
         await api.delete(`/admin/reviews/${id}`);
     },
+
+    bulk: async (data: BulkReviewRequest): Promise<BulkReviewResult> => {
+        const response = await api.post<BulkReviewResult>('/admin/reviews/bulk', data);
+        return response.data;
+    },
 };
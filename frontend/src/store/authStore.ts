@@ -1,11 +1,12 @@
 import { create } from 'zustand';
 import { User } from '@/types';
+import { authService } from '@/services/authService';
 
 interface AuthState {
     user: User | null;
     token: string | null;
     isAuthenticated: boolean;
-    setAuth: (user: User, token: string) => void;
+    setAuth: (user: User, token: string, refreshToken?: string) => void;
     logout: () => void;
     initAuth: () => void;
 }
@@ -15,15 +16,17 @@ export const useAuthStore = create<AuthState>((set) => ({
     token: null,
     isAuthenticated: false,
 
-    setAuth: (user, token) => {
+    setAuth: (user, token, refreshToken) => {
         localStorage.setItem('user', JSON.stringify(user));
         localStorage.setItem('token', token);
+        if (refreshToken) {
+            localStorage.setItem('refreshToken', refreshToken);
+        }
         set({ user, token, isAuthenticated: true });
     },
 
     logout: () => {
-        localStorage.removeItem('user');
-        localStorage.removeItem('token');
+        authService.logout(localStorage.getItem('refreshToken')).catch(() => undefined);
         set({ user: null, token: null, isAuthenticated: false });
     },
 
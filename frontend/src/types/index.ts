@@ -24,11 +24,28 @@ export interface Product {
     featured: boolean;
     averageRating: number;
     reviewCount: number;
+    ratingHistogram?: Record<number, number>;
     shopierLink?: string;
     createdAt: string;
     updatedAt: string;
 }
 
+export interface ProductSummary {
+    id: number;
+    nameTr: string;
+    nameEn: string;
+    price: number;
+    stock: number;
+    image?: string;
+    featured: boolean;
+    averageRating: number;
+    reviewCount: number;
+    shopierLink?: string;
+    categoryId?: number;
+    categoryNameTr?: string;
+    categoryNameEn?: string;
+}
+
 export interface Category {
     id: number;
     nameTr: string;
@@ -100,6 +117,16 @@ export interface Review {
     updatedAt?: string;
 }
 
+export interface Page<T> {
+    content: T[];
+    totalElements: number;
+    totalPages: number;
+    number: number;
+    size: number;
+    first: boolean;
+    last: boolean;
+}
+
 export type OrderStatus = 'PENDING' | 'CONFIRMED' | 'PROCESSING' | 'SHIPPED' | 'DELIVERED' | 'CANCELLED';
 export type PaymentStatus = 'PENDING' | 'PAID' | 'FAILED' | 'REFUNDED';
 
@@ -122,3 +149,35 @@ export interface RegisterRequest {
     password: string;
     phone?: string;
 }
+
+export interface Suggestion {
+    text: string;
+    type: 'PRODUCT' | 'CATEGORY';
+    id: number;
+}
+
+export interface FacetCount {
+    value: string;
+    count: number;
+}
+
+export interface ProductBrowseParams {
+    categoryId?: number[];
+    price?: string[];
+    minRating?: number;
+    inStock?: boolean;
+    featured?: boolean;
+    page?: number;
+    size?: number;
+    sortBy?: string;
+    sortDir?: string;
+}
+
+export interface ProductBrowseResult {
+    content: ProductSummary[];
+    totalElements: number;
+    totalPages: number;
+    page: number;
+    size: number;
+    facets: Record<'category' | 'price' | 'rating' | 'inStock' | 'featured', FacetCount[]>;
+}